@@ -0,0 +1,57 @@
+package ru.practicum.benchmarks;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.events.Event;
+import ru.practicum.events.EventDto;
+import ru.practicum.events.EventMapper;
+import ru.practicum.events.EventShortDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventMapperBenchmark {
+    EventMapper eventMapper;
+    Event event;
+    List<Event> page;
+
+    @Setup
+    public void setUp() {
+        eventMapper = Mappers.getMapper(EventMapper.class);
+        event = Fixtures.event(1);
+        page = Fixtures.events(10);
+    }
+
+    @Benchmark
+    public EventShortDto toShortDto() {
+        return eventMapper.toShortDto(event);
+    }
+
+    @Benchmark
+    public EventDto toDto() {
+        return eventMapper.toDto(event);
+    }
+
+    @Benchmark
+    public List<EventShortDto> toShortDtoPage() {
+        return page.stream()
+                .map(eventMapper::toShortDto)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.benchmarks;
+
+import lombok.experimental.UtilityClass;
+import ru.practicum.categories.Category;
+import ru.practicum.events.Event;
+import ru.practicum.events.EventState;
+import ru.practicum.events.Location;
+import ru.practicum.events.LocationDto;
+import ru.practicum.events.NewEventRequest;
+import ru.practicum.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@UtilityClass
+public class Fixtures {
+
+    public static List<Event> events(int count) {
+        List<Event> events = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            events.add(event(id));
+        }
+        return events;
+    }
+
+    public static Event event(long id) {
+        return Event.builder()
+                .id(id)
+                .annotation(text("Annotation of a public event ", 200))
+                .category(Category.builder().id(id % 10 + 1).name("Category " + (id % 10 + 1)).build())
+                .description(text("Long description of the public event ", 3000))
+                .eventDate(LocalDateTime.now().plusDays(id))
+                .location(new Location(55.754167, 37.62))
+                .paid(id % 2 == 0)
+                .participantLimit(100)
+                .requestModeration(true)
+                .title("Event title " + id)
+                .initiator(User.builder().id(id % 100 + 1).name("Initiator " + id).email("user" + id + "@mail.ru").build())
+                .createdOn(LocalDateTime.now().minusDays(3))
+                .publishedOn(LocalDateTime.now().minusDays(1))
+                .state(EventState.PUBLISHED)
+                .confirmedRequests(42)
+                .views(1000 + id)
+                .build();
+    }
+
+    public static NewEventRequest newEventRequest() {
+        return NewEventRequest.builder()
+                .annotation(text("Annotation of a new event ", 200))
+                .category(1L)
+                .description(text("Description of a new event ", 1000))
+                .eventDate(LocalDateTime.now().plusDays(7))
+                .location(LocationDto.builder().lat(55.754167).lon(37.62).build())
+                .title("New event title")
+                .build();
+    }
+
+    private static String text(String phrase, int length) {
+        StringBuilder builder = new StringBuilder(length + phrase.length());
+        while (builder.length() < length) {
+            builder.append(phrase);
+        }
+        return builder.substring(0, length);
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.events.EventMapper;
+import ru.practicum.events.EventShortDto;
+import ru.practicum.hit.ViewStatsDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "100"})
+    int size;
+
+    ObjectMapper objectMapper;
+    List<EventShortDto> events;
+    List<ViewStatsDto> stats;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .build();
+
+        EventMapper eventMapper = Mappers.getMapper(EventMapper.class);
+        events = Fixtures.events(size).stream()
+                .map(eventMapper::toShortDto)
+                .collect(Collectors.toList());
+
+        stats = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            stats.add(new ViewStatsDto("ewm-main-service", "/events/" + i, 10_000 - i));
+        }
+    }
+
+    @Benchmark
+    public byte[] eventShortDtoList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(events);
+    }
+
+    @Benchmark
+    public byte[] viewStatsDtoList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(stats);
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.benchmarks;
+
+import org.apache.coyote.BadRequestException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.events.NewEventRequest;
+import ru.practicum.util.RequestsValidator;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestsValidatorBenchmark {
+    NewEventRequest request;
+    String email;
+
+    @Setup
+    public void setUp() {
+        request = Fixtures.newEventRequest();
+        email = "some.user.name@sub.domain.example.com";
+    }
+
+    @Benchmark
+    public void dateValidation(Blackhole blackhole) throws BadRequestException {
+        RequestsValidator.dateValidation(request);
+        blackhole.consume(request);
+    }
+
+    @Benchmark
+    public void validateEmail(Blackhole blackhole) {
+        RequestsValidator.validateEmail(email);
+        blackhole.consume(email);
+    }
+}
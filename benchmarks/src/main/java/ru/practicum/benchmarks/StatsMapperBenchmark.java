@@ -0,0 +1,49 @@
+package ru.practicum.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.hit.StatsMapper;
+import ru.practicum.hit.ViewStatsDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatsMapperBenchmark {
+
+    @Param({"10", "1000"})
+    int rows;
+
+    List<Object[]> results;
+
+    @Setup
+    public void setUp() {
+        results = new ArrayList<>(rows);
+        for (long i = 0; i < rows; i++) {
+            results.add(new Object[]{"ewm-main-service", "/events/" + i, 10_000 - i});
+        }
+    }
+
+    @Benchmark
+    public List<ViewStatsDto> objToViewStats() {
+        return results.stream()
+                .map(StatsMapper::objToViewStats)
+                .collect(Collectors.toList());
+    }
+}
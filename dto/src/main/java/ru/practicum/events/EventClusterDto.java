@@ -0,0 +1,20 @@
+package ru.practicum.events;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.util.List;
+
+@Value
+@Builder
+@Jacksonized
+public class EventClusterDto {
+    Integer zoom;
+    Integer x;
+    Integer y;
+    Double lat;
+    Double lon;
+    Integer count;
+    List<Long> eventIds;
+}
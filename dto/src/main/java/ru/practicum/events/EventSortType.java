@@ -2,5 +2,6 @@ package ru.practicum.events;
 
 public enum EventSortType {
     EVENT_DATE,
-    VIEWS
+    VIEWS,
+    DISTANCE
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package ru.practicum.exeption;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+
+        super(message);
+    }
+}
@@ -12,6 +12,7 @@ import ru.practicum.compilations.NewCompilationRequest;
 import ru.practicum.compilations.UpdateCompilationRequest;
 import ru.practicum.exeption.NotFoundException;
 import ru.practicum.exeption.DataConflictException;
+import ru.practicum.http.WebClientFactory;
 
 
 @Service
@@ -19,9 +20,10 @@ import ru.practicum.exeption.DataConflictException;
 public class AdminCompilationClient extends BaseWebClient {
     private static final String API_PREFIX = "/admin/compilations";
 
-    public AdminCompilationClient(@Value("${ewm-service.url}") String baseUrl) {
+    public AdminCompilationClient(@Value("${ewm-service.url}") String baseUrl,
+                                  WebClientFactory webClientFactory) {
 
-        super(baseUrl, API_PREFIX);
+        super(webClientFactory, EWM_SERVICE, baseUrl, API_PREFIX);
     }
 
 
@@ -14,15 +14,17 @@ import ru.practicum.categories.UpdateCategoryRequest;
 import ru.practicum.exeption.CategoryConflictException;
 import ru.practicum.exeption.DataConflictException;
 import ru.practicum.exeption.NotFoundException;
+import ru.practicum.http.WebClientFactory;
 
 @Service
 @Slf4j
 public class AdminWebCategoriesClient extends BaseWebClient {
     private static final String API_PREFIX = "/admin/categories";
 
-    public AdminWebCategoriesClient(@Value("${ewm-service.url}") String baseUrl) {
+    public AdminWebCategoriesClient(@Value("${ewm-service.url}") String baseUrl,
+                                    WebClientFactory webClientFactory) {
 
-        super(baseUrl, API_PREFIX);
+        super(webClientFactory, EWM_SERVICE, baseUrl, API_PREFIX);
     }
 
     public CategoryDto addCategory(NewCategoryRequest request) {
@@ -1,9 +1,11 @@
 package ru.practicum.admin;
 
+import jakarta.validation.ValidationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
@@ -12,6 +14,7 @@ import ru.practicum.events.EventDto;
 import ru.practicum.events.UpdateEventRequest;
 import ru.practicum.exeption.EventDataException;
 import ru.practicum.exeption.NotFoundException;
+import ru.practicum.http.WebClientFactory;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -22,17 +25,19 @@ import java.util.Optional;
 public class AdminWebEventClient extends BaseWebClient {
     private static final String API_PREFIX_EVENT = "/admin/events";
 
-    public AdminWebEventClient(@Value("${ewm-service.url}") String baseUrl) {
+    public AdminWebEventClient(@Value("${ewm-service.url}") String baseUrl,
+                               WebClientFactory webClientFactory) {
 
-        super(baseUrl, API_PREFIX_EVENT);
+        super(webClientFactory, EWM_SERVICE, baseUrl, API_PREFIX_EVENT);
     }
 
-    public Mono<List<EventDto>> getEvents(
+    public Mono<ResponseEntity<List<EventDto>>> getEvents(
             List<Long> users,
             List<String> states,
             List<Long> categories,
             LocalDateTime rangeStart,
             LocalDateTime rangeEnd,
+            String cursor,
             Integer from,
             Integer size
     ) {
@@ -43,13 +48,16 @@ public class AdminWebEventClient extends BaseWebClient {
                         .queryParamIfPresent("categories", Optional.ofNullable(categories))
                         .queryParamIfPresent("rangeStart", Optional.ofNullable(rangeStart))
                         .queryParamIfPresent("rangeEnd", Optional.ofNullable(rangeEnd))
+                        .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
                         .queryParam("from", from)
                         .queryParam("size", size)
                         .build())
                 .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
-                .bodyToFlux(EventDto.class)
-                .collectList();
+                .onStatus(status -> status == HttpStatus.BAD_REQUEST,
+                        response -> response.bodyToMono(String.class).map(ValidationException::new))
+                .toEntityList(EventDto.class)
+                .map(BaseWebClient::relay);
     }
 
     public EventDto updateEvent(Long eventId, UpdateEventRequest request) {
@@ -10,6 +10,7 @@ import reactor.core.publisher.Mono;
 import ru.practicum.base.BaseWebClient;
 import ru.practicum.exeption.DataConflictException;
 import ru.practicum.exeption.NotFoundException;
+import ru.practicum.http.WebClientFactory;
 import ru.practicum.user.UserDto;
 import ru.practicum.user.UserRequest;
 
@@ -21,9 +22,10 @@ import java.util.Optional;
 public class AdminWebUserClient extends BaseWebClient {
     private static final String API_PREFIX_USERS = "/admin/users";
 
-    public AdminWebUserClient(@Value("${ewm-service.url}") String serverUrl) {
+    public AdminWebUserClient(@Value("${ewm-service.url}") String serverUrl,
+                              WebClientFactory webClientFactory) {
 
-        super(serverUrl, API_PREFIX_USERS);
+        super(webClientFactory, EWM_SERVICE, serverUrl, API_PREFIX_USERS);
     }
 
     public UserDto addUser(UserRequest request) {
@@ -1,13 +1,51 @@
 package ru.practicum.base;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.reactive.function.client.WebClient;
+import ru.practicum.http.WebClientFactory;
+
+import java.util.List;
+import java.util.function.Consumer;
 
 public class BaseWebClient {
+    protected static final String EWM_SERVICE = "ewm-service";
+    protected static final String STATS_SERVER = "stats-server";
+    protected static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final List<String> CONDITIONAL_HEADERS = List.of(
+            HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE);
+    private static final List<String> RELAYED_HEADERS = List.of(
+            NEXT_CURSOR_HEADER, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED);
+
     protected final WebClient webClient;
 
-    public BaseWebClient(String baseUrl, String apiPrefix) {
-        this.webClient = WebClient.builder()
-                .baseUrl(baseUrl + apiPrefix)
-                .build();
+    public BaseWebClient(WebClientFactory webClientFactory, String downstream, String baseUrl, String apiPrefix) {
+        this.webClient = webClientFactory.create(downstream, baseUrl + apiPrefix);
+    }
+
+    protected static Consumer<HttpHeaders> conditional(HttpHeaders requestHeaders) {
+        return headers -> CONDITIONAL_HEADERS.forEach(name -> {
+            List<String> values = requestHeaders.get(name);
+            if (values != null) {
+                headers.addAll(name, values);
+            }
+        });
+    }
+
+    protected static <T> ResponseEntity<T> relay(ResponseEntity<T> response) {
+        HttpHeaders headers = new HttpHeaders();
+        RELAYED_HEADERS.forEach(name -> {
+            String value = response.getHeaders().getFirst(name);
+            if (value != null) {
+                headers.set(name, value);
+            }
+        });
+
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+        return new ResponseEntity<>(response.getBody(), headers, HttpStatus.OK);
     }
-}
\ No newline at end of file
+}
@@ -162,4 +162,16 @@ public class GatewayExceptionHandler {
                 ex.getMessage()
         );
     }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Violation handleServiceUnavailableException(ServiceUnavailableException ex) {
+        log.warn("Service unavailable: {}", ex.getMessage());
+
+        return new Violation(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "The service is temporarily unavailable.",
+                ex.getMessage()
+        );
+    }
 }
@@ -10,13 +10,15 @@ import ru.practicum.comments.*;
 import ru.practicum.exeption.ConflictException;
 import ru.practicum.exeption.ForbiddenException;
 import ru.practicum.exeption.NotFoundException;
+import ru.practicum.http.WebClientFactory;
 
 @Service
 public class PrivateWebCommentsClient extends BaseWebClient {
     private static final String API_COMMENTS = "/users";
 
-    public PrivateWebCommentsClient(@Value("${ewm-service.url}") String baseUrl) {
-        super(baseUrl, API_COMMENTS);
+    public PrivateWebCommentsClient(@Value("${ewm-service.url}") String baseUrl,
+                                    WebClientFactory webClientFactory) {
+        super(webClientFactory, EWM_SERVICE, baseUrl, API_COMMENTS);
     }
 
     public CommentDto addComment(Long userId, Long eventId, NewCommentRequest request) {
@@ -12,6 +12,7 @@ import ru.practicum.exeption.ConflictException;
 import ru.practicum.exeption.EventDataException;
 import ru.practicum.exeption.ForbiddenException;
 import ru.practicum.exeption.NotFoundException;
+import ru.practicum.http.WebClientFactory;
 
 import java.util.List;
 
@@ -19,9 +20,10 @@ import java.util.List;
 public class PrivateWebEventsClient extends BaseWebClient {
     private static final String API_PREFIX = "/users";
 
-    public PrivateWebEventsClient(@Value("${ewm-service.url}") String baseUrl) {
+    public PrivateWebEventsClient(@Value("${ewm-service.url}") String baseUrl,
+                                  WebClientFactory webClientFactory) {
 
-        super(baseUrl, API_PREFIX);
+        super(webClientFactory, EWM_SERVICE, baseUrl, API_PREFIX);
     }
 
     public EventDto addEvent(Long userId, NewEventRequest request) {
@@ -12,6 +12,7 @@ import ru.practicum.exeption.ConflictException;
 import ru.practicum.exeption.DataConflictException;
 import ru.practicum.exeption.ForbiddenException;
 import ru.practicum.exeption.NotFoundException;
+import ru.practicum.http.WebClientFactory;
 import ru.practicum.requests.EventRequestStatusUpdateRequest;
 import ru.practicum.requests.EventRequestStatusUpdateResult;
 import ru.practicum.requests.RequestDto;
@@ -23,9 +24,10 @@ import java.util.List;
 public class PrivateWebRequestsClient extends BaseWebClient {
     private static final String API_PREFIX = "/users";
 
-    public PrivateWebRequestsClient(@Value("${ewm-service.url}") String baseUrl) {
+    public PrivateWebRequestsClient(@Value("${ewm-service.url}") String baseUrl,
+                                    WebClientFactory webClientFactory) {
 
-        super(baseUrl, API_PREFIX);
+        super(webClientFactory, EWM_SERVICE, baseUrl, API_PREFIX);
     }
 
     public RequestDto addRequest(Long userId, Long eventId) {
@@ -1,20 +1,27 @@
 package ru.practicum.publics;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.apache.coyote.BadRequestException;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Mono;
 import ru.practicum.categories.CategoryDto;
 import ru.practicum.compilations.CompilationDto;
+import ru.practicum.events.EventClusterDto;
 import ru.practicum.events.EventDto;
 import ru.practicum.events.EventShortDto;
 import ru.practicum.events.EventSortType;
@@ -32,37 +39,41 @@ public class PublicController {
     PublicWebClientEvents publicWebClientEvents;
 
     @GetMapping("/categories")
-    public Mono<List<CategoryDto>> getCategories(
+    public Mono<ResponseEntity<List<CategoryDto>>> getCategories(
             @RequestParam(defaultValue = "0") @Min(0) Integer from,
-            @RequestParam(defaultValue = "10") @Min(1) Integer size
+            @RequestParam(defaultValue = "10") @Min(1) Integer size,
+            @RequestHeader HttpHeaders headers
     ) {
-        return publicWebClientCategories.getCategories(from, size);
+        return publicWebClientCategories.getCategories(from, size, headers);
     }
 
     @GetMapping("/categories/{catId}")
-    public CategoryDto getCategory(
-            @PathVariable @Min(1) Long catId
+    public ResponseEntity<CategoryDto> getCategory(
+            @PathVariable @Min(1) Long catId,
+            @RequestHeader HttpHeaders headers
     ) {
-        return publicWebClientCategories.getCategory(catId);
+        return publicWebClientCategories.getCategory(catId, headers);
     }
 
     @GetMapping("/compilations")
-    public Mono<List<CompilationDto>> getCompilations(
+    public Mono<ResponseEntity<List<CompilationDto>>> getCompilations(
             @RequestParam(defaultValue = "0") @Min(0) Integer from,
-            @RequestParam(defaultValue = "10") @Min(1) Integer size
+            @RequestParam(defaultValue = "10") @Min(1) Integer size,
+            @RequestHeader HttpHeaders headers
     ) {
-        return publicWebClientCompilations.getCompilations(from, size);
+        return publicWebClientCompilations.getCompilations(from, size, headers);
     }
 
     @GetMapping("/compilations/{compId}")
-    public CompilationDto getCompilationById(
-            @PathVariable @Min(1) Long compId
+    public ResponseEntity<CompilationDto> getCompilationById(
+            @PathVariable @Min(1) Long compId,
+            @RequestHeader HttpHeaders headers
     ) {
-        return publicWebClientCompilations.getCompilationById(compId);
+        return publicWebClientCompilations.getCompilationById(compId, headers);
     }
 
     @GetMapping("/events")
-    public Mono<List<EventShortDto>> getEvents(
+    public Mono<ResponseEntity<List<EventShortDto>>> getEvents(
             @RequestParam(required = false) String text,
             @RequestParam(required = false) List<Long> categories,
             @RequestParam(required = false) Boolean paid,
@@ -71,9 +82,14 @@ public class PublicController {
             @RequestParam(required = false)
             @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime rangeEnd,
             @RequestParam(defaultValue = "false") Boolean onlyAvailable,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) @Positive Double radius,
             @RequestParam(required = false) EventSortType sort,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "0") Integer from,
             @RequestParam(defaultValue = "10") Integer size,
+            @RequestHeader HttpHeaders headers,
             HttpServletRequest request
 
     ) throws BadRequestException {
@@ -94,18 +110,41 @@ public class PublicController {
                 rangeStart,
                 rangeEnd,
                 onlyAvailable,
+                lat,
+                lon,
+                radius,
                 sort,
+                cursor,
                 from,
                 size,
-                clientIp);
+                clientIp,
+                headers);
+    }
+
+    @GetMapping("/events/clusters")
+    public Mono<List<EventClusterDto>> getEventClusters(
+            @RequestParam @Size(min = 4, max = 4) List<Double> bbox,
+            @RequestParam @Min(0) @Max(22) Integer zoom
+    ) {
+        return publicWebClientEvents.getClusters(bbox, zoom);
+    }
+
+    @GetMapping("/events/batch")
+    public Mono<List<EventDto>> getEventsBatch(@RequestParam @Size(min = 1, max = 100) List<@Min(1) Long> ids,
+                                               HttpServletRequest request) {
+
+        String clientIp = request.getRemoteAddr();
+
+        return publicWebClientEvents.getEventsBatch(ids, clientIp);
     }
 
     @GetMapping("/events/{id}")
-    public EventDto getEvent(@PathVariable @Min(1) Long id,
-                             HttpServletRequest request) {
+    public ResponseEntity<EventDto> getEvent(@PathVariable @Min(1) Long id,
+                                             @RequestHeader HttpHeaders headers,
+                                             HttpServletRequest request) {
 
         String clientIp = request.getRemoteAddr();
 
-        return publicWebClientEvents.getEvent(id, clientIp);
+        return publicWebClientEvents.getEvent(id, clientIp, headers);
     }
 }
@@ -1,13 +1,16 @@
 package ru.practicum.publics;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 import ru.practicum.base.BaseWebClient;
 import ru.practicum.categories.CategoryDto;
 import ru.practicum.exeption.NotFoundException;
+import ru.practicum.http.WebClientFactory;
 
 import java.util.List;
 
@@ -15,34 +18,37 @@ import java.util.List;
 public class PublicWebClientCategories extends BaseWebClient {
     private static final String CATEGORIES_API = "/categories";
 
-    public PublicWebClientCategories(@Value("${ewm-service.url}") String baseUrl) {
+    public PublicWebClientCategories(@Value("${ewm-service.url}") String baseUrl,
+                                     WebClientFactory webClientFactory) {
 
-        super(baseUrl, CATEGORIES_API);
+        super(webClientFactory, EWM_SERVICE, baseUrl, CATEGORIES_API);
     }
 
-    public Mono<List<CategoryDto>> getCategories(Integer from, Integer size) {
+    public Mono<ResponseEntity<List<CategoryDto>>> getCategories(Integer from, Integer size, HttpHeaders headers) {
         return webClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .queryParam("from", from)
                         .queryParam("size", size)
                         .build())
+                .headers(conditional(headers))
                 .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
-                .bodyToFlux(CategoryDto.class)
-                .collectList();
-
+                .toEntityList(CategoryDto.class)
+                .map(BaseWebClient::relay);
     }
 
-    public CategoryDto getCategory(Long catId) {
+    public ResponseEntity<CategoryDto> getCategory(Long catId, HttpHeaders headers) {
         return webClient.get()
                 .uri("/" + catId)
+                .headers(conditional(headers))
                 .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
                 .onStatus(status -> status == HttpStatus.NOT_FOUND,
                         response -> {
                             throw new NotFoundException(String.format("Category with id=%d was not found", catId));
                         })
-                .bodyToMono(CategoryDto.class)
+                .toEntity(CategoryDto.class)
+                .map(BaseWebClient::relay)
                 .block();
     }
 }
@@ -1,13 +1,16 @@
 package ru.practicum.publics;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 import ru.practicum.base.BaseWebClient;
 import ru.practicum.compilations.CompilationDto;
 import ru.practicum.exeption.NotFoundException;
+import ru.practicum.http.WebClientFactory;
 
 import java.util.List;
 
@@ -15,33 +18,38 @@ import java.util.List;
 public class PublicWebClientCompilations extends BaseWebClient {
     private static final String COMP_API = "/compilations";
 
-    public PublicWebClientCompilations(@Value("${ewm-service.url}") String baseUrl) {
+    public PublicWebClientCompilations(@Value("${ewm-service.url}") String baseUrl,
+                                       WebClientFactory webClientFactory) {
 
-        super(baseUrl, COMP_API);
+        super(webClientFactory, EWM_SERVICE, baseUrl, COMP_API);
     }
 
-    public Mono<List<CompilationDto>> getCompilations(Integer from, Integer size) {
+    public Mono<ResponseEntity<List<CompilationDto>>> getCompilations(Integer from, Integer size,
+                                                                      HttpHeaders headers) {
         return webClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .queryParam("from", from)
                         .queryParam("size", size)
                         .build())
+                .headers(conditional(headers))
                 .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
-                .bodyToFlux(CompilationDto.class)
-                .collectList();
+                .toEntityList(CompilationDto.class)
+                .map(BaseWebClient::relay);
     }
 
-    public CompilationDto getCompilationById(Long compId) {
+    public ResponseEntity<CompilationDto> getCompilationById(Long compId, HttpHeaders headers) {
         return webClient.get()
                 .uri("/" + compId)
+                .headers(conditional(headers))
                 .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
                 .onStatus(status -> status == HttpStatus.NOT_FOUND,
                         response -> {
                             throw new NotFoundException(String.format("Compilation with id=%d was not found", compId));
                         })
-                .bodyToMono(CompilationDto.class)
+                .toEntity(CompilationDto.class)
+                .map(BaseWebClient::relay)
                 .block();
     }
 }
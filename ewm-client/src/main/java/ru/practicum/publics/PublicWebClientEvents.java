@@ -1,16 +1,21 @@
 package ru.practicum.publics;
 
+import jakarta.validation.ValidationException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 import ru.practicum.base.BaseWebClient;
+import ru.practicum.events.EventClusterDto;
 import ru.practicum.events.EventDto;
 import ru.practicum.events.EventShortDto;
 import ru.practicum.events.EventSortType;
 import ru.practicum.exeption.EventDataException;
 import ru.practicum.exeption.NotFoundException;
+import ru.practicum.http.WebClientFactory;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -20,22 +25,28 @@ import java.util.Optional;
 public class PublicWebClientEvents extends BaseWebClient {
     private static final String EVENT_API = "/events";
 
-    public PublicWebClientEvents(@Value("${ewm-service.url}") String baseUrl) {
+    public PublicWebClientEvents(@Value("${ewm-service.url}") String baseUrl,
+                                 WebClientFactory webClientFactory) {
 
-        super(baseUrl, EVENT_API);
+        super(webClientFactory, EWM_SERVICE, baseUrl, EVENT_API);
     }
 
-    public Mono<List<EventShortDto>> getEvents(
+    public Mono<ResponseEntity<List<EventShortDto>>> getEvents(
             String text,
             List<Long> categories,
             Boolean paid,
             LocalDateTime rangeStart,
             LocalDateTime rangeEnd,
             Boolean onlyAvailable,
+            Double lat,
+            Double lon,
+            Double radius,
             EventSortType sort,
+            String cursor,
             Integer from,
             Integer size,
-            String clientIp
+            String clientIp,
+            HttpHeaders headers
     ) {
         return webClient.get()
                 .uri(uriBuilder -> uriBuilder
@@ -45,21 +56,59 @@ public class PublicWebClientEvents extends BaseWebClient {
                         .queryParamIfPresent("rangeStart", Optional.ofNullable(rangeStart))
                         .queryParamIfPresent("rangeEnd", Optional.ofNullable(rangeEnd))
                         .queryParamIfPresent("onlyAvailable", Optional.ofNullable(onlyAvailable))
+                        .queryParamIfPresent("lat", Optional.ofNullable(lat))
+                        .queryParamIfPresent("lon", Optional.ofNullable(lon))
+                        .queryParamIfPresent("radius", Optional.ofNullable(radius))
                         .queryParamIfPresent("sort", Optional.ofNullable(sort))
+                        .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
                         .queryParam("from", from)
                         .queryParam("size", size)
                         .build())
                 .header("X-Client-IP", clientIp)
+                .headers(conditional(headers))
                 .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
-                .bodyToFlux(EventShortDto.class)
+                .onStatus(status -> status == HttpStatus.BAD_REQUEST,
+                        response -> response.bodyToMono(String.class).map(ValidationException::new))
+                .toEntityList(EventShortDto.class)
+                .map(BaseWebClient::relay);
+    }
+
+    public Mono<List<EventClusterDto>> getClusters(List<Double> bbox, Integer zoom) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/clusters")
+                        .queryParam("bbox", bbox)
+                        .queryParam("zoom", zoom)
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .onStatus(status -> status == HttpStatus.BAD_REQUEST,
+                        response -> response.bodyToMono(String.class).map(ValidationException::new))
+                .bodyToFlux(EventClusterDto.class)
+                .collectList();
+    }
+
+    public Mono<List<EventDto>> getEventsBatch(List<Long> ids, String clientIp) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/batch")
+                        .queryParam("ids", ids)
+                        .build())
+                .header("X-Client-IP", clientIp)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .onStatus(status -> status == HttpStatus.BAD_REQUEST,
+                        response -> response.bodyToMono(String.class).map(ValidationException::new))
+                .bodyToFlux(EventDto.class)
                 .collectList();
     }
 
-    public EventDto getEvent(Long id, String clientIp) {
+    public ResponseEntity<EventDto> getEvent(Long id, String clientIp, HttpHeaders headers) {
         return webClient.get()
                 .uri("/" + id)
                 .header("X-Client-IP", clientIp)
+                .headers(conditional(headers))
                 .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
                 .onStatus(status -> status == HttpStatus.NOT_FOUND,
@@ -70,7 +119,8 @@ public class PublicWebClientEvents extends BaseWebClient {
                         response -> {
                             throw new EventDataException(String.format("Event with id=%d was not published", id));
                         })
-                .bodyToMono(EventDto.class)
+                .toEntity(EventDto.class)
+                .map(BaseWebClient::relay)
                 .block();
     }
 }
@@ -1,5 +1,13 @@
 package ru.practicum.stats;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.coyote.BadRequestException;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,22 +16,44 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.util.UriBuilder;
 import ru.practicum.base.BaseWebClient;
+import ru.practicum.exeption.ServiceUnavailableException;
 import ru.practicum.hit.NewHitRequest;
 import ru.practicum.hit.ViewStatsDto;
+import ru.practicum.http.WebClientFactory;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Service
 public class StatsWebClient extends BaseWebClient {
     private static final String API_PREFIX = "";
+    private static final String STATS_SERVER_HITS = "stats-server-hits";
+    private static final String STATS_SERVER_STATS = "stats-server-stats";
 
-    public StatsWebClient(@Value("${stats-server.url}") String serverUrl) {
+    private final CircuitBreaker hitsCircuitBreaker;
+    private final Bulkhead hitsBulkhead;
+    private final CircuitBreaker statsCircuitBreaker;
+    private final Bulkhead statsBulkhead;
+    private final Duration timeout;
 
-        super(serverUrl, API_PREFIX);
+    public StatsWebClient(@Value("${stats-server.url}") String serverUrl,
+                          WebClientFactory webClientFactory,
+                          @Value("${stats-server.timeout-ms:1000}") long timeoutMs,
+                          CircuitBreakerRegistry circuitBreakerRegistry,
+                          BulkheadRegistry bulkheadRegistry) {
+
+        super(webClientFactory, STATS_SERVER, serverUrl, API_PREFIX);
+        this.hitsCircuitBreaker = circuitBreakerRegistry.circuitBreaker(STATS_SERVER_HITS);
+        this.hitsBulkhead = bulkheadRegistry.bulkhead(STATS_SERVER_HITS);
+        this.statsCircuitBreaker = circuitBreakerRegistry.circuitBreaker(STATS_SERVER_STATS);
+        this.statsBulkhead = bulkheadRegistry.bulkhead(STATS_SERVER_STATS);
+        this.timeout = Duration.ofMillis(timeoutMs);
     }
 
     public ResponseEntity<Void> addHit(NewHitRequest request) {
@@ -33,6 +63,10 @@ public class StatsWebClient extends BaseWebClient {
                 .bodyValue(request)
                 .retrieve()
                 .toBodilessEntity()
+                .timeout(timeout)
+                .transformDeferred(CircuitBreakerOperator.of(hitsCircuitBreaker))
+                .transformDeferred(BulkheadOperator.of(hitsBulkhead))
+                .onErrorMap(this::isUnavailable, this::unavailable)
                 .doOnSuccess(response -> {
                     log.info("Hit saved successfully");
                 })
@@ -70,6 +104,22 @@ public class StatsWebClient extends BaseWebClient {
                 })
                 .bodyToFlux(ViewStatsDto.class)
                 .collectList()
+                .timeout(timeout)
+                .transformDeferred(CircuitBreakerOperator.of(statsCircuitBreaker))
+                .transformDeferred(BulkheadOperator.of(statsBulkhead))
+                .onErrorMap(this::isUnavailable, this::unavailable)
                 .block();
     }
-}
\ No newline at end of file
+
+    private boolean isUnavailable(Throwable throwable) {
+        return throwable instanceof CallNotPermittedException
+                || throwable instanceof BulkheadFullException
+                || throwable instanceof TimeoutException
+                || throwable instanceof WebClientRequestException;
+    }
+
+    private Throwable unavailable(Throwable throwable) {
+        log.warn("Stats server unavailable: {}", throwable.getMessage());
+        return new ServiceUnavailableException("Stats server is temporarily unavailable");
+    }
+}
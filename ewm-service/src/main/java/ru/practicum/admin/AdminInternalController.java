@@ -3,6 +3,7 @@ package ru.practicum.admin;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.categories.CategoryDto;
 import ru.practicum.categories.NewCategoryRequest;
@@ -71,12 +72,13 @@ public class AdminInternalController {
     }
 
     @GetMapping("/events")
-    public List<EventDto> getEvents(
+    public ResponseEntity<List<EventDto>> getEvents(
             @RequestParam(required = false) List<Long> users,
             @RequestParam(required = false) List<String> states,
             @RequestParam(required = false) List<Long> categories,
             @RequestParam(required = false) LocalDateTime rangeStart,
             @RequestParam(required = false) LocalDateTime rangeEnd,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "0") Integer from,
             @RequestParam(defaultValue = "10") Integer size
     ) {
@@ -85,7 +87,8 @@ public class AdminInternalController {
                 categories,
                 rangeStart,
                 rangeEnd,
-                from, size);
+                cursor,
+                from, size).toResponseEntity();
     }
 
     @PatchMapping("/events/{eventId}")
@@ -5,8 +5,9 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.categories.*;
@@ -17,6 +18,8 @@ import ru.practicum.exeption.DataConflictException;
 import ru.practicum.exeption.EventDataException;
 import ru.practicum.exeption.NotFoundException;
 import ru.practicum.user.*;
+import ru.practicum.util.CursorPage;
+import ru.practicum.util.OffsetPageRequest;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -39,6 +42,7 @@ public class AdminService {
     CategoryMapper categoryMapper;
     EventMapper eventMapper;
     CompilationsMapper compilationsMapper;
+    ApplicationEventPublisher eventPublisher;
 
     public UserDto addUser(UserRequest request) {
         log.debug("Adding user {}", request);
@@ -62,17 +66,17 @@ public class AdminService {
     @Transactional(readOnly = true)
     public List<UserDto> findAllUsersByIds(List<Long> ids, Integer from, Integer size) {
         log.info("Finding all users by ids {}", ids);
-        Pageable pageable = PageRequest.of(from / size, size);
+        Pageable pageable = OffsetPageRequest.of(from, size);
 
         if (ids != null && !ids.isEmpty()) {
-            List<User> users = userRepository.findUsersByIds(ids, pageable);
+            List<User> users = userRepository.findUsersByIds(ids, pageable).getContent();
             log.info("Found {} users by ids {}", users.size(), users);
 
             return users.stream()
                     .map(userMapper::userToUserDto)
                     .collect(Collectors.toList());
         }
-        List<User> users = userRepository.findAllBy(pageable);
+        List<User> users = userRepository.findAllBy(pageable).getContent();
         log.info("Found {} users by ids {}", users.size(), users);
 
         return users.stream()
@@ -103,6 +107,7 @@ public class AdminService {
                 .name(request.getName())
                 .build()
         );
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId()));
 
         return categoryMapper.categoryToCategoryDto(category);
     }
@@ -118,6 +123,7 @@ public class AdminService {
         }
 
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
     }
 
     public CategoryDto updateCategory(Long id, UpdateCategoryRequest request) {
@@ -135,16 +141,19 @@ public class AdminService {
         }
 
         category.setName(request.getName());
-        return categoryMapper.categoryToCategoryDto(categoryRepository.save(category));
+        category = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId()));
+        return categoryMapper.categoryToCategoryDto(category);
     }
 
     @Transactional(readOnly = true)
-    public List<EventDto> getEvents(
+    public CursorPage<EventDto> getEvents(
             List<Long> users,
             List<String> states,
             List<Long> categories,
             LocalDateTime rangeStart,
             LocalDateTime rangeEnd,
+            String cursor,
             Integer from,
             Integer size
     ) {
@@ -153,19 +162,27 @@ public class AdminService {
                 " rangeStart: {}, rangeEnd: {}, from: {}, size: {}", users, states, categories, rangeStart, rangeEnd, from, size);
 
         List<EventState> eventStates = parseStates(states);
+        EventCursor eventCursor = EventCursor.parse(cursor, EventSortType.EVENT_DATE);
 
-        Pageable pageable = PageRequest.of(from / size, size);
+        Pageable pageable = eventCursor != null
+                ? OffsetPageRequest.of(0, size, Sort.by("eventDate", "id"))
+                : OffsetPageRequest.of(from, size);
 
         List<Event> eventList = eventRepository.findByAdminFilters(users,
                 eventStates,
                 categories,
                 rangeStart,
                 rangeEnd,
+                eventCursor,
                 pageable);
 
-        return eventList.stream()
+        String nextCursor = eventCursor != null && eventList.size() == size
+                ? EventCursor.after(EventSortType.EVENT_DATE, eventList.getLast()).encode()
+                : null;
+
+        return new CursorPage<>(eventList.stream()
                 .map(eventMapper::toDto)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), nextCursor);
 
     }
 
@@ -262,6 +279,7 @@ public class AdminService {
         }
 
         event = eventRepository.save(event);
+        eventPublisher.publishEvent(EventChangedEvent.of(event));
         return eventMapper.toDto(event);
     }
 
@@ -294,6 +312,7 @@ public class AdminService {
                 .build());
 
         log.info("Compilation created with id: {}", compilation.getId());
+        eventPublisher.publishEvent(new CompilationChangedEvent(compilation.getId()));
 
         return compilationsMapper.toDto(compilation);
     }
@@ -317,6 +336,7 @@ public class AdminService {
         }
 
         compilationsRepository.deleteById(compId);
+        eventPublisher.publishEvent(new CompilationChangedEvent(compId));
     }
 
     @Transactional(readOnly = true)
@@ -359,6 +379,7 @@ public class AdminService {
         }
 
         compilation = compilationsRepository.save(compilation);
+        eventPublisher.publishEvent(new CompilationChangedEvent(compilation.getId()));
         return compilationsMapper.toDto(compilation);
     }
 
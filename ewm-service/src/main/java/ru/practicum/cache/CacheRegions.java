@@ -0,0 +1,9 @@
+package ru.practicum.cache;
+
+public final class CacheRegions {
+    public static final String CATEGORIES = "categories";
+    public static final String USERS = "users";
+
+    private CacheRegions() {
+    }
+}
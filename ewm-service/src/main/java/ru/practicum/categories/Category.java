@@ -3,6 +3,12 @@ package ru.practicum.categories;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+import ru.practicum.cache.CacheRegions;
+
+import java.time.LocalDateTime;
 
 @Entity
 @AllArgsConstructor
@@ -13,6 +19,7 @@ import lombok.experimental.FieldDefaults;
 @Getter
 @Setter
 @Table(name = "categories")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.CATEGORIES)
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class Category {
     @Id
@@ -22,4 +29,8 @@ public class Category {
 
     @Column(nullable = false, unique = true)
     String name;
+
+    @UpdateTimestamp
+    @Column(name = "updated_on")
+    LocalDateTime updatedOn;
 }
@@ -0,0 +1,8 @@
+package ru.practicum.categories;
+
+import lombok.Value;
+
+@Value
+public class CategoryChangedEvent {
+    Long id;
+}
@@ -1,7 +1,17 @@
 package ru.practicum.categories;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    boolean existsById(Long id);
+
     boolean existsByName(String name);
-}
\ No newline at end of file
+
+    Slice<Category> findAllBy(Pageable pageable);
+}
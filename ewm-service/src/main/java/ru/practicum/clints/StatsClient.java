@@ -1,41 +1,124 @@
 package ru.practicum.clints;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriBuilder;
+import reactor.util.retry.Retry;
 import ru.practicum.hit.NewHitRequest;
+import ru.practicum.hit.ViewStatsDto;
+import ru.practicum.http.WebClientFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 @Slf4j
 @Component
 public class StatsClient {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String STATS_SERVER = "stats-server";
+    private static final String STATS_SERVER_HITS = "stats-server-hits";
+    private static final String STATS_SERVER_STATS = "stats-server-stats";
+
     protected final WebClient webClient;
 
-    public StatsClient(@Value("${stats-server.url}") String statsUrl) {
+    private final CircuitBreaker hitsCircuitBreaker;
+    private final Bulkhead hitsBulkhead;
+    private final CircuitBreaker statsCircuitBreaker;
+    private final Bulkhead statsBulkhead;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+    private final Duration hitsTimeout;
+    private final Duration statsTimeout;
+
+    public StatsClient(@Value("${stats-server.url}") String statsUrl,
+                       @Value("${stats-server.hits.max-retries:3}") int maxRetries,
+                       @Value("${stats-server.hits.retry-backoff-ms:200}") long retryBackoffMs,
+                       @Value("${stats-server.hits.timeout-ms:5000}") long hitsTimeoutMs,
+                       @Value("${stats-server.stats-timeout-ms:500}") long statsTimeoutMs,
+                       WebClientFactory webClientFactory,
+                       CircuitBreakerRegistry circuitBreakerRegistry,
+                       BulkheadRegistry bulkheadRegistry) {
+
+        this.webClient = webClientFactory.create(STATS_SERVER, statsUrl);
+        this.hitsCircuitBreaker = circuitBreakerRegistry.circuitBreaker(STATS_SERVER_HITS);
+        this.hitsBulkhead = bulkheadRegistry.bulkhead(STATS_SERVER_HITS);
+        this.statsCircuitBreaker = circuitBreakerRegistry.circuitBreaker(STATS_SERVER_STATS);
+        this.statsBulkhead = bulkheadRegistry.bulkhead(STATS_SERVER_STATS);
+        this.maxRetries = maxRetries;
+        this.retryBackoff = Duration.ofMillis(retryBackoffMs);
+        this.hitsTimeout = Duration.ofMillis(hitsTimeoutMs);
+        this.statsTimeout = Duration.ofMillis(statsTimeoutMs);
+    }
+
+    public void sendHits(List<NewHitRequest> hits) {
+        log.info("Sending {} hits to stats service", hits.size());
+
+        webClient.post()
+                .uri("/hits")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(hits)
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(hitsTimeout)
+                .transformDeferred(CircuitBreakerOperator.of(hitsCircuitBreaker))
+                .retryWhen(Retry.backoff(maxRetries, retryBackoff)
+                        .filter(this::isRetryable))
+                .transformDeferred(BulkheadOperator.of(hitsBulkhead))
+                .doOnSuccess(response -> {
+                    log.info("{} hits saved successfully to stats service", hits.size());
+                })
+                .doOnError(throwable -> {
+                    log.error("Hits save failed : {}", throwable.getMessage());
+                })
+                .block();
+    }
+
+    public List<ViewStatsDto> getStats(LocalDateTime start,
+                                       LocalDateTime end,
+                                       List<String> uris,
+                                       boolean unique) {
+        return webClient.get()
+                .uri(uriBuilder -> {
+                    UriBuilder builder = uriBuilder
+                            .path("/stats")
+                            .queryParam("start", start.format(FORMATTER))
+                            .queryParam("end", end.format(FORMATTER))
+                            .queryParam("unique", unique);
 
-        this.webClient = WebClient.create(statsUrl);
+                    if (uris != null && !uris.isEmpty()) {
+                        builder.queryParam("uris", uris.toArray());
+                    }
+                    return builder.build();
+                })
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .retrieve()
+                .bodyToFlux(ViewStatsDto.class)
+                .collectList()
+                .timeout(statsTimeout)
+                .transformDeferred(CircuitBreakerOperator.of(statsCircuitBreaker))
+                .transformDeferred(BulkheadOperator.of(statsBulkhead))
+                .block();
     }
 
-    public void addHit(NewHitRequest request) {
-        try {
-            log.info("Sending hit to stats service: {}", request);
-
-            webClient.post()
-                    .uri("/hit")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(request)
-                    .retrieve()
-                    .toBodilessEntity()
-                    .doOnSuccess(response -> {
-                        log.info("Hit saved successfully to stats service");
-                    })
-                    .doOnError(throwable -> {
-                        log.error("Hit save failed : {}", throwable.getMessage());
-                    })
-                    .block();
-        } catch (Exception e) {
-            log.error("Failed to send hit to stats service", e);
+    private boolean isRetryable(Throwable throwable) {
+        if (throwable instanceof CallNotPermittedException || throwable instanceof BulkheadFullException) {
+            return false;
         }
+        return !(throwable instanceof WebClientResponseException ex && ex.getStatusCode().is4xxClientError());
     }
-}
\ No newline at end of file
+}
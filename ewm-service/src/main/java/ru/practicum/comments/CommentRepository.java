@@ -1,14 +1,14 @@
 package ru.practicum.comments;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    Page<Comment> findByEvent_IdAndDeleted(Long eventId, boolean deleted, Pageable pageable);
+    Slice<Comment> findByEvent_IdAndDeleted(Long eventId, boolean deleted, Pageable pageable);
 
-    Page<Comment> findByAuthor_Id(Long authorId, Pageable pageable);
+    Slice<Comment> findByAuthor_Id(Long authorId, Pageable pageable);
 
-    Page<Comment> findByAuthor_IdAndDeleted(Long authorId, boolean deleted, Pageable pageable);
+    Slice<Comment> findByAuthor_IdAndDeleted(Long authorId, boolean deleted, Pageable pageable);
 }
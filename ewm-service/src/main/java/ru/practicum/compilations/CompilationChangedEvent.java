@@ -0,0 +1,8 @@
+package ru.practicum.compilations;
+
+import lombok.Value;
+
+@Value
+public class CompilationChangedEvent {
+    Long id;
+}
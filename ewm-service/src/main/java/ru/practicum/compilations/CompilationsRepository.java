@@ -1,7 +1,21 @@
 package ru.practicum.compilations;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+import java.util.Optional;
+
 public interface CompilationsRepository extends JpaRepository<Compilation, Long> {
     boolean existsByTitle(String title);
-}
\ No newline at end of file
+
+    Slice<Compilation> findAllBy(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"events", "events.category", "events.initiator"})
+    List<Compilation> findAllWithEventsBy();
+
+    @EntityGraph(attributePaths = {"events", "events.category", "events.initiator"})
+    Optional<Compilation> findWithEventsById(Long id);
+}
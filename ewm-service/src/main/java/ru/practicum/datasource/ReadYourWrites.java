@@ -0,0 +1,77 @@
+package ru.practicum.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class ReadYourWrites extends OncePerRequestFilter implements TransactionExecutionListener {
+    private static final Pattern USER_PATH = Pattern.compile("^/users/(\\d+)(/.*)?$");
+    private static final ThreadLocal<Context> CONTEXT = new ThreadLocal<>();
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWrites(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public boolean isPinnedToPrimary() {
+        Context context = CONTEXT.get();
+        return context != null && context.pinned;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String writer = writerKey(request.getRequestURI());
+        CONTEXT.set(new Context(writer, writer != null && recentWriters.getIfPresent(writer) != null));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            CONTEXT.remove();
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        Context context = CONTEXT.get();
+        if (commitFailure != null || transaction.isReadOnly() || context == null) {
+            return;
+        }
+        context.pinned = true;
+        if (context.writer != null) {
+            recentWriters.put(context.writer, Boolean.TRUE);
+        }
+    }
+
+    // Public pages tolerate replica lag, a user's or admin's own pages have to show their last change
+    private static String writerKey(String path) {
+        if (path.startsWith("/admin/")) {
+            return "admin";
+        }
+        Matcher matcher = USER_PATH.matcher(path);
+        return matcher.matches() ? "user:" + matcher.group(1) : null;
+    }
+
+    private static final class Context {
+        final String writer;
+        boolean pinned;
+
+        Context(String writer, boolean pinned) {
+            this.writer = writer;
+            this.pinned = pinned;
+        }
+    }
+}
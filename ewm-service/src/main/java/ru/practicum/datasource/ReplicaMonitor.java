@@ -0,0 +1,97 @@
+package ru.practicum.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class ReplicaMonitor implements InitializingBean, DisposableBean {
+    // Zero when all received WAL is replayed, so an idle primary doesn't make a replica look stale
+    private static final String LAG_QUERY = "SELECT COALESCE(CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() "
+            + "THEN 0 ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END, 0)";
+
+    private final Map<String, HikariDataSource> replicas;
+    private final long maxLagMs;
+    private final long checkIntervalMs;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-lag-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Health health = new Health(List.of(), System.nanoTime());
+
+    public ReplicaMonitor(Map<String, HikariDataSource> replicas, long maxLagMs, long checkIntervalMs) {
+        this.replicas = replicas;
+        this.maxLagMs = maxLagMs;
+        this.checkIntervalMs = checkIntervalMs;
+    }
+
+    // The check gets its own thread so slow scheduled jobs can't delay it
+    @Override
+    public void afterPropertiesSet() {
+        scheduler.scheduleWithFixedDelay(this::checkLag, 0, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public Map<String, ? extends DataSource> getReplicas() {
+        return replicas;
+    }
+
+    public String pick() {
+        Health current = health;
+        // A result older than two check intervals can't vouch for the lag any more
+        if (current.replicas.isEmpty()
+                || System.nanoTime() - current.checkedAt > TimeUnit.MILLISECONDS.toNanos(2 * checkIntervalMs)) {
+            return null;
+        }
+        return current.replicas.get(Math.floorMod(next.getAndIncrement(), current.replicas.size()));
+    }
+
+    void checkLag() {
+        List<String> available = new ArrayList<>();
+        replicas.forEach((name, dataSource) -> {
+            try {
+                Double lagMs = new JdbcTemplate(dataSource).queryForObject(LAG_QUERY, Double.class);
+                if (lagMs != null && lagMs <= maxLagMs) {
+                    available.add(name);
+                } else {
+                    log.warn("Replica {} is {} ms behind, reads go to the primary", name, lagMs);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Replica {} is unreachable, reads go to the primary: {}", name, e.getMessage());
+            }
+        });
+        if (!available.equals(health.replicas)) {
+            log.info("Healthy replicas: {}", available);
+        }
+        health = new Health(List.copyOf(available), System.nanoTime());
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        replicas.values().forEach(HikariDataSource::close);
+    }
+
+    private static final class Health {
+        final List<String> replicas;
+        final long checkedAt;
+
+        Health(List<String> replicas, long checkedAt) {
+            this.replicas = replicas;
+            this.checkedAt = checkedAt;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.UpdateTimestamp;
 import ru.practicum.categories.Category;
 import ru.practicum.compilations.Compilation;
 import ru.practicum.user.User;
@@ -22,7 +23,7 @@ import java.util.Set;
 @Builder
 @EqualsAndHashCode
 @FieldDefaults(level = AccessLevel.PRIVATE)
-public class Event {
+public class Event implements EventSortKey {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -70,6 +71,10 @@ public class Event {
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     LocalDateTime publishedOn;
 
+    @UpdateTimestamp
+    @Column(name = "updated_on")
+    LocalDateTime updatedOn;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     @Builder.Default
@@ -0,0 +1,47 @@
+package ru.practicum.events;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+@Builder(toBuilder = true)
+public class EventChangedEvent {
+    Long id;
+    EventState state;
+    String title;
+    String annotation;
+    String description;
+    Long categoryId;
+    Boolean paid;
+    LocalDateTime eventDate;
+    Integer participantLimit;
+    Integer confirmedRequests;
+    Double lat;
+    Double lon;
+    boolean participationOnly;
+
+    public static EventChangedEvent of(Event event) {
+        return EventChangedEvent.builder()
+                .id(event.getId())
+                .state(event.getState())
+                .title(event.getTitle())
+                .annotation(event.getAnnotation())
+                .description(event.getDescription())
+                .categoryId(event.getCategory().getId())
+                .paid(event.getPaid())
+                .eventDate(event.getEventDate())
+                .participantLimit(event.getParticipantLimit())
+                .confirmedRequests(event.getConfirmedRequests())
+                .lat(event.getLocation() != null ? event.getLocation().getLat() : null)
+                .lon(event.getLocation() != null ? event.getLocation().getLon() : null)
+                .build();
+    }
+
+    public static EventChangedEvent participationOf(Event event) {
+        return of(event).toBuilder()
+                .participationOnly(true)
+                .build();
+    }
+}
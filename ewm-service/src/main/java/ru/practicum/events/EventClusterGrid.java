@@ -0,0 +1,259 @@
+package ru.practicum.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+@Slf4j
+@Component
+public class EventClusterGrid {
+    private static final double MAX_MERCATOR_LAT = 85.05112878;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxZoom;
+    private final int representatives;
+
+    private volatile Grid grid;
+    private List<EventChangedEvent> replay;
+
+    public EventClusterGrid(JdbcTemplate jdbcTemplate,
+                            @Value("${ewm-service.clusters.max-zoom:16}") int maxZoom,
+                            @Value("${ewm-service.clusters.representatives:3}") int representatives) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxZoom = maxZoom;
+        this.representatives = representatives;
+        this.grid = new Grid(maxZoom);
+    }
+
+    public List<EventClusterDto> clusters(double minLon, double minLat, double maxLon, double maxLat, int zoom) {
+        int z = Math.max(0, Math.min(zoom, maxZoom));
+        int minX = tileX(minLon, z);
+        int maxX = tileX(maxLon, z);
+        int minY = tileY(maxLat, z);
+        int maxY = tileY(minLat, z);
+
+        Map<Long, Cell> level = grid.levels.get(z);
+        List<Cell> cells = new ArrayList<>();
+        if ((long) (maxX - minX + 1) * (maxY - minY + 1) <= level.size()) {
+            for (int x = minX; x <= maxX; x++) {
+                for (int y = minY; y <= maxY; y++) {
+                    Cell cell = level.get(key(x, y));
+                    if (cell != null) {
+                        cells.add(cell);
+                    }
+                }
+            }
+        } else {
+            level.values().stream()
+                    .filter(cell -> cell.x >= minX && cell.x <= maxX && cell.y >= minY && cell.y <= maxY)
+                    .forEach(cells::add);
+        }
+
+        return cells.stream()
+                .map(cell -> cell.toDto(z, representatives))
+                .filter(cluster -> cluster.getCount() > 0)
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onEventChanged(EventChangedEvent event) {
+        if (replay != null) {
+            replay.add(event);
+        }
+        grid.apply(event, LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${ewm-service.clusters.expire-interval-ms:60000}")
+    public synchronized void expire() {
+        int expired = grid.expire(LocalDateTime.now());
+        if (expired > 0) {
+            log.debug("Removed {} past events from the cluster grid", expired);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ewm-service.clusters.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        synchronized (this) {
+            replay = new ArrayList<>();
+        }
+
+        Grid rebuilt = new Grid(maxZoom);
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            jdbcTemplate.query("SELECT id, event_date, lat, lon FROM public_events "
+                            + "WHERE lat IS NOT NULL AND lon IS NOT NULL AND event_date > now()",
+                    rs -> {
+                        rebuilt.apply(EventChangedEvent.builder()
+                                .id(rs.getLong("id"))
+                                .state(EventState.PUBLISHED)
+                                .eventDate(rs.getTimestamp("event_date").toLocalDateTime())
+                                .lat(rs.getDouble("lat"))
+                                .lon(rs.getDouble("lon"))
+                                .build(), now);
+                    });
+        } catch (RuntimeException e) {
+            log.error("Event cluster grid rebuild failed", e);
+            synchronized (this) {
+                replay = null;
+            }
+            return;
+        }
+
+        synchronized (this) {
+            replay.forEach(event -> rebuilt.apply(event, now));
+            replay = null;
+            grid = rebuilt;
+        }
+        log.info("Event cluster grid rebuilt: {} events, zoom 0..{}", rebuilt.members.size(), maxZoom);
+    }
+
+    private static int tileX(double lon, int zoom) {
+        int tiles = 1 << zoom;
+        int x = (int) Math.floor((lon + 180) / 360 * tiles);
+        return Math.max(0, Math.min(tiles - 1, x));
+    }
+
+    private static int tileY(double lat, int zoom) {
+        int tiles = 1 << zoom;
+        double rad = Math.toRadians(Math.max(-MAX_MERCATOR_LAT, Math.min(MAX_MERCATOR_LAT, lat)));
+        int y = (int) Math.floor((1 - Math.log(Math.tan(rad) + 1 / Math.cos(rad)) / Math.PI) / 2 * tiles);
+        return Math.max(0, Math.min(tiles - 1, y));
+    }
+
+    private static long key(int x, int y) {
+        return (long) x << 32 | y;
+    }
+
+    private static final class Member {
+        static final Comparator<Member> ORDER = Comparator.comparing((Member member) -> member.eventDate)
+                .thenComparingLong(member -> member.id);
+
+        final long id;
+        final LocalDateTime eventDate;
+        final double lat;
+        final double lon;
+
+        Member(EventChangedEvent event) {
+            this.id = event.getId();
+            this.eventDate = event.getEventDate();
+            this.lat = event.getLat();
+            this.lon = event.getLon();
+        }
+    }
+
+    private static final class Cell {
+        final int x;
+        final int y;
+        final ConcurrentSkipListSet<Member> members = new ConcurrentSkipListSet<>(Member.ORDER);
+        volatile int count;
+        volatile double sumLat;
+        volatile double sumLon;
+
+        Cell(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        void add(Member member) {
+            members.add(member);
+            count++;
+            sumLat += member.lat;
+            sumLon += member.lon;
+        }
+
+        void remove(Member member) {
+            members.remove(member);
+            count--;
+            sumLat -= member.lat;
+            sumLon -= member.lon;
+        }
+
+        EventClusterDto toDto(int zoom, int representatives) {
+            int size = count;
+            return EventClusterDto.builder()
+                    .zoom(zoom)
+                    .x(x)
+                    .y(y)
+                    .lat(size > 0 ? sumLat / size : null)
+                    .lon(size > 0 ? sumLon / size : null)
+                    .count(size)
+                    .eventIds(members.stream()
+                            .limit(representatives)
+                            .map(member -> member.id)
+                            .toList())
+                    .build();
+        }
+    }
+
+    // Writers are serialized by the enclosing component, readers only see concurrent collections
+    private static final class Grid {
+        final Map<Long, Member> members = new ConcurrentHashMap<>();
+        final ConcurrentSkipListSet<Member> byDate = new ConcurrentSkipListSet<>(Member.ORDER);
+        final List<Map<Long, Cell>> levels = new ArrayList<>();
+
+        Grid(int maxZoom) {
+            for (int zoom = 0; zoom <= maxZoom; zoom++) {
+                levels.add(new ConcurrentHashMap<>());
+            }
+        }
+
+        void apply(EventChangedEvent event, LocalDateTime now) {
+            Member previous = members.remove(event.getId());
+            if (previous != null) {
+                remove(previous);
+            }
+
+            if (event.getState() == EventState.PUBLISHED && event.getLat() != null && event.getLon() != null
+                    && event.getEventDate() != null && event.getEventDate().isAfter(now)) {
+                Member member = new Member(event);
+                members.put(member.id, member);
+                byDate.add(member);
+                for (int zoom = 0; zoom < levels.size(); zoom++) {
+                    int x = tileX(member.lon, zoom);
+                    int y = tileY(member.lat, zoom);
+                    levels.get(zoom).computeIfAbsent(key(x, y), k -> new Cell(x, y)).add(member);
+                }
+            }
+        }
+
+        int expire(LocalDateTime now) {
+            int expired = 0;
+            for (Member member = byDate.pollFirst(); member != null; member = byDate.pollFirst()) {
+                if (member.eventDate.isAfter(now)) {
+                    byDate.add(member);
+                    break;
+                }
+                members.remove(member.id);
+                remove(member);
+                expired++;
+            }
+            return expired;
+        }
+
+        private void remove(Member member) {
+            byDate.remove(member);
+            for (int zoom = 0; zoom < levels.size(); zoom++) {
+                Map<Long, Cell> level = levels.get(zoom);
+                long key = key(tileX(member.lon, zoom), tileY(member.lat, zoom));
+                Cell cell = level.get(key);
+                if (cell != null) {
+                    cell.remove(member);
+                    if (cell.count <= 0) {
+                        level.remove(key);
+                    }
+                }
+            }
+        }
+    }
+}
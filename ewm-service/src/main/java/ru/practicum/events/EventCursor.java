@@ -0,0 +1,65 @@
+package ru.practicum.events;
+
+import jakarta.validation.ValidationException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Value
+public class EventCursor {
+    private static final String SEPARATOR = "|";
+
+    EventSortType sort;
+    LocalDateTime eventDate;
+    Long views;
+    Long id;
+
+    public static EventCursor parse(String cursor, EventSortType sort) {
+        if (cursor == null) {
+            return null;
+        }
+
+        EventSortType active = sort != null ? sort : EventSortType.EVENT_DATE;
+        if (active == EventSortType.DISTANCE) {
+            throw new ValidationException("Cursor pagination is not supported for sort DISTANCE");
+        }
+        if (cursor.isBlank()) {
+            return new EventCursor(active, null, null, null);
+        }
+
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR);
+            EventSortType cursorSort = EventSortType.valueOf(parts[0]);
+            if (sort != null && sort != cursorSort) {
+                throw new ValidationException(String.format("Cursor was issued for sort %s, not %s", cursorSort, sort));
+            }
+
+            Long id = Long.valueOf(parts[2]);
+            return cursorSort == EventSortType.VIEWS
+                    ? new EventCursor(cursorSort, null, Long.valueOf(parts[1]), id)
+                    : new EventCursor(cursorSort, LocalDateTime.parse(parts[1]), null, id);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public static EventCursor after(EventSortType sort, EventSortKey event) {
+        return sort == EventSortType.VIEWS
+                ? new EventCursor(sort, null, event.getViews(), event.getId())
+                : new EventCursor(sort, event.getEventDate(), null, event.getId());
+    }
+
+    public boolean isFirst() {
+        return id == null;
+    }
+
+    public String encode() {
+        String key = sort == EventSortType.VIEWS ? String.valueOf(views) : eventDate.toString();
+        String value = sort + SEPARATOR + key + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
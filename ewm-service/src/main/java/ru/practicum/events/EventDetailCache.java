@@ -0,0 +1,145 @@
+package ru.practicum.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.categories.CategoryChangedEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+public class EventDetailCache {
+    private static final long VIEWS_PLACEHOLDER = Long.MIN_VALUE;
+    private static final byte[] VIEWS_FIELD = "\"views\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] VIEWS_MARKER = ("\"views\":" + VIEWS_PLACEHOLDER).getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, Entry> entries;
+
+    public EventDetailCache(ObjectMapper objectMapper,
+                            @Value("${ewm-service.events.detail-cache-size:10000}") long cacheSize) {
+        this.objectMapper = objectMapper;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+    }
+
+    public byte[] get(Long id, LocalDateTime updatedOn, long views, Function<Long, EventDto> loader) {
+        Entry entry = entries.getIfPresent(id);
+        // Entries are bound to the read model version, so a missed invalidation can't serve stale fields
+        if (entry == null || !Objects.equals(entry.updatedOn, updatedOn)) {
+            entry = new Entry(updatedOn, serialize(loader.apply(VIEWS_PLACEHOLDER)));
+            entries.put(id, entry);
+        }
+        return entry.render(views);
+    }
+
+    public byte[] getArray(List<EventShortView> events, Map<Long, Long> views,
+                           BiFunction<Collection<Long>, Long, Map<Long, EventDto>> loader) {
+        Map<Long, Entry> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (EventShortView event : events) {
+            Entry entry = entries.getIfPresent(event.getId());
+            if (entry != null && Objects.equals(entry.updatedOn, event.getUpdatedOn())) {
+                found.put(event.getId(), entry);
+            } else {
+                missing.add(event.getId());
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<Long, EventDto> loaded = loader.apply(missing, VIEWS_PLACEHOLDER);
+            for (EventShortView event : events) {
+                EventDto dto = loaded.get(event.getId());
+                if (dto != null) {
+                    Entry entry = new Entry(event.getUpdatedOn(), serialize(dto));
+                    entries.put(event.getId(), entry);
+                    found.put(event.getId(), entry);
+                }
+            }
+        }
+
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        json.write('[');
+        for (EventShortView event : events) {
+            Entry entry = found.get(event.getId());
+            if (entry == null) {
+                continue;
+            }
+            if (json.size() > 1) {
+                json.write(',');
+            }
+            json.writeBytes(entry.render(views.getOrDefault(event.getId(), event.getViews())));
+        }
+        json.write(']');
+        return json.toByteArray();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        entries.invalidate(event.getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        entries.invalidateAll();
+    }
+
+    private byte[] serialize(EventDto event) {
+        try {
+            return objectMapper.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize event " + event.getId(), e);
+        }
+    }
+
+    private static int indexOf(byte[] bytes, byte[] pattern) {
+        for (int i = 0; i <= bytes.length - pattern.length; i++) {
+            if (Arrays.equals(bytes, i, i + pattern.length, pattern, 0, pattern.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class Entry {
+        final LocalDateTime updatedOn;
+        final byte[] prefix;
+        final byte[] suffix;
+
+        Entry(LocalDateTime updatedOn, byte[] json) {
+            int marker = indexOf(json, VIEWS_MARKER);
+            if (marker < 0) {
+                throw new IllegalStateException("Serialized event has no views field");
+            }
+            this.updatedOn = updatedOn;
+            this.prefix = Arrays.copyOfRange(json, 0, marker + VIEWS_FIELD.length);
+            this.suffix = Arrays.copyOfRange(json, marker + VIEWS_MARKER.length, json.length);
+        }
+
+        byte[] render(long views) {
+            byte[] value = Long.toString(views).getBytes(StandardCharsets.US_ASCII);
+            byte[] json = Arrays.copyOf(prefix, prefix.length + value.length + suffix.length);
+            System.arraycopy(value, 0, json, prefix.length, value.length);
+            System.arraycopy(suffix, 0, json, prefix.length + value.length, suffix.length);
+            return json;
+        }
+    }
+}
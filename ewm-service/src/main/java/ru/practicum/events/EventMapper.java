@@ -1,12 +1,26 @@
 package ru.practicum.events;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface EventMapper {
     EventDto toDto(Event event);
 
+    @Mapping(target = "views", source = "views")
+    EventDto toDto(Event event, Long views);
+
     EventShortDto toShortDto(Event event);
 
+    @Mapping(target = "views", source = "views")
+    EventShortDto toShortDto(Event event, Long views);
+
+    @Mapping(target = "category.id", source = "view.categoryId")
+    @Mapping(target = "category.name", source = "view.categoryName")
+    @Mapping(target = "initiator.id", source = "view.initiatorId")
+    @Mapping(target = "initiator.name", source = "view.initiatorName")
+    @Mapping(target = "views", source = "views")
+    EventShortDto toShortDto(EventShortView view, Long views);
+
     SimpleEventDto toSimpleDto(Event event);
-}
\ No newline at end of file
+}
@@ -2,9 +2,9 @@ package ru.practicum.events;
 
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.dsl.BooleanExpression;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 
@@ -12,9 +12,11 @@ import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
-public interface EventRepository extends JpaRepository<Event, Long>, QuerydslPredicateExecutor<Event> {
+public interface EventRepository extends JpaRepository<Event, Long>, QuerydslPredicateExecutor<Event>,
+        EventSliceRepository {
 
-    List<Event> findByInitiatorId(Long userId, Pageable pageable);
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    Slice<Event> findByInitiatorId(Long userId, Pageable pageable);
 
     boolean existsByCategory_Id(Long categoryId);
 
@@ -23,6 +25,7 @@ public interface EventRepository extends JpaRepository<Event, Long>, QuerydslPre
                                            List<Long> categories,
                                            LocalDateTime rangeStart,
                                            LocalDateTime rangeEnd,
+                                           EventCursor cursor,
                                            Pageable pageable) {
 
         QEvent event = QEvent.event;
@@ -48,72 +51,23 @@ public interface EventRepository extends JpaRepository<Event, Long>, QuerydslPre
             predicate.and(event.eventDate.loe(rangeEnd));
         }
 
-        return findAll(predicate, pageable).getContent();
-    }
-
-    List<Event> findByIdIn(Collection<Long> ids);
-
-    default List<Event> findByPublicFilters(String text,
-                                            List<Long> categories,
-                                            Boolean paid,
-                                            LocalDateTime rangeStart,
-                                            LocalDateTime rangeEnd,
-                                            Boolean onlyAvailable,
-                                            EventSortType sort,
-                                            Integer from,
-                                            Integer size
-    ) {
-        QEvent event = QEvent.event;
-        BooleanBuilder predicate = new BooleanBuilder();
-
-        predicate.and(event.state.eq(EventState.PUBLISHED));
-
-        if (text != null && !text.isBlank()) {
-            String searchText = text.toLowerCase();
-            BooleanBuilder textPredicate = new BooleanBuilder();
-            textPredicate.or(event.annotation.toLowerCase().contains(searchText))
-                    .or(event.title.toLowerCase().contains(searchText))
-                    .or(event.description.toLowerCase().contains(searchText));
-            predicate.and(textPredicate);
-        }
-
-        if (categories != null && !categories.isEmpty()) {
-            predicate.and(event.category.id.in(categories));
-        }
-
-        if (paid != null) {
-            predicate.and(event.paid.eq(paid));
-        }
-
-        if (rangeStart != null) {
-            predicate.and(event.eventDate.goe(rangeStart));
-        }
-
-        if (rangeEnd != null) {
-            predicate.and(event.eventDate.loe(rangeEnd));
+        if (cursor != null && !cursor.isFirst()) {
+            predicate.and(seek(event, cursor));
         }
 
-        if (onlyAvailable) {
-            BooleanExpression availablePredicate = event.confirmedRequests.lt(event.participantLimit)
-                    .or(event.participantLimit.eq(0));
-            predicate.and(availablePredicate);
-        }
-
-        if (rangeStart == null) {
-            predicate.and(event.eventDate.goe(LocalDateTime.now()));
-        }
+        return findSlice(predicate, pageable).getContent();
+    }
 
-        if (sort == null) {
-            sort = EventSortType.EVENT_DATE;
-        }
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    List<Event> findByIdIn(Collection<Long> ids);
 
-        Sort sortObj = switch (sort) {
-            case VIEWS -> sortObj = Sort.by(Sort.Direction.DESC, "views");
-            case EVENT_DATE -> sortObj = Sort.by(Sort.Direction.ASC, "eventDate");
+    private static BooleanExpression seek(QEvent event, EventCursor cursor) {
+        return switch (cursor.getSort()) {
+            case VIEWS -> event.views.lt(cursor.getViews())
+                    .or(event.views.eq(cursor.getViews()).and(event.id.gt(cursor.getId())));
+            case EVENT_DATE -> event.eventDate.gt(cursor.getEventDate())
+                    .or(event.eventDate.eq(cursor.getEventDate()).and(event.id.gt(cursor.getId())));
+            case DISTANCE -> throw new IllegalStateException("Cursors are not issued for sort DISTANCE");
         };
-
-        Pageable pageable = PageRequest.of(from / size, size, sortObj);
-
-        return findAll(predicate, pageable).getContent();
     }
-}
\ No newline at end of file
+}
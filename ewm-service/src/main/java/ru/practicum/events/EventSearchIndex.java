@@ -0,0 +1,370 @@
+package ru.practicum.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class EventSearchIndex {
+    private static final int TITLE = 1;
+    private static final int ANNOTATION = 2;
+    private static final int DESCRIPTION = 4;
+    private static final Duration RANKING_GRACE = Duration.ofHours(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    private volatile Segment segment = new Segment();
+    private volatile Ranking ranking = new Ranking(new Segment(), Map.of(), LocalDateTime.MAX);
+    private volatile boolean ready;
+    private List<EventChangedEvent> replay;
+
+    public EventSearchIndex(JdbcTemplate jdbcTemplate,
+                            @Value("${ewm-service.search.index.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public List<Long> search(String text,
+                             List<Long> categories,
+                             Boolean paid,
+                             LocalDateTime rangeStart,
+                             LocalDateTime rangeEnd,
+                             boolean onlyAvailable,
+                             EventSortType sort,
+                             EventCursor after,
+                             int from,
+                             int size) {
+        Segment current = segment;
+        Ranking ranked = ranking;
+        List<String> tokens = tokenize(text);
+        LocalDateTime start = rangeStart != null ? rangeStart : LocalDateTime.now();
+        Set<Long> categoryIds = categories != null && !categories.isEmpty() ? new HashSet<>(categories) : null;
+
+        Predicate<Document> filter = document -> (categoryIds == null || categoryIds.contains(document.categoryId))
+                && (paid == null || document.paid == paid)
+                && !document.eventDate.isBefore(start)
+                && (rangeEnd == null || !document.eventDate.isAfter(rangeEnd))
+                && (!onlyAvailable || document.isAvailable());
+
+        if (sort == EventSortType.VIEWS && tokens.isEmpty() && !start.isBefore(ranked.horizon)) {
+            return ranked.top(current, categoryIds, filter, after, after != null ? 0 : from, size);
+        }
+
+        Map<Long, Integer> scores = tokens.isEmpty() ? null : current.match(tokens);
+        Collection<Long> candidates = scores != null ? scores.keySet() : current.documents.keySet();
+
+        List<Document> matches = new ArrayList<>();
+        for (Long id : candidates) {
+            Document document = current.documents.get(id);
+            if (document == null
+                    || !filter.test(document)
+                    || after != null && !after.isFirst() && !isAfter(document, after, ranked)) {
+                continue;
+            }
+            matches.add(document);
+        }
+
+        Comparator<Document> byDate = Comparator.comparing((Document document) -> document.eventDate)
+                .thenComparing(document -> document.id);
+        Comparator<Document> order;
+        if (sort == EventSortType.VIEWS) {
+            order = ranked.byViews();
+        } else if (sort == null && scores != null) {
+            order = Comparator.comparing((Document document) -> scores.get(document.id)).reversed().thenComparing(byDate);
+        } else {
+            order = byDate;
+        }
+
+        return matches.stream()
+                .sorted(order)
+                .skip(after != null ? 0 : from)
+                .limit(size)
+                .map(document -> document.id)
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${ewm-service.search.index.ranking-refresh-interval-ms:5000}")
+    public void refreshRanking() {
+        if (!isReady()) {
+            return;
+        }
+
+        LocalDateTime horizon = LocalDateTime.now().minus(RANKING_GRACE);
+        Map<Long, Long> views = new HashMap<>();
+        try {
+            // Past events never make the ranking, so only upcoming rows are read via idx_public_events_date
+            jdbcTemplate.query("SELECT id, views FROM public_events WHERE event_date > ?",
+                    rs -> {
+                        views.put(rs.getLong("id"), rs.getLong("views"));
+                    },
+                    horizon);
+        } catch (RuntimeException e) {
+            log.error("Event popularity ranking refresh failed", e);
+            return;
+        }
+
+        Ranking refreshed = new Ranking(segment, views, horizon);
+        ranking = refreshed;
+        log.debug("Event popularity ranking refreshed: {} upcoming events", refreshed.ids.length);
+    }
+
+    private static boolean isAfter(Document document, EventCursor cursor, Ranking ranked) {
+        if (cursor.getSort() != EventSortType.VIEWS) {
+            return document.isAfter(cursor);
+        }
+        long views = ranked.views(document.id);
+        long cursorViews = ranked.views.getOrDefault(cursor.getId(), cursor.getViews());
+        return views < cursorViews || views == cursorViews && document.id > cursor.getId();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onEventChanged(EventChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (replay != null) {
+            replay.add(event);
+        }
+        segment.apply(event);
+    }
+
+    @Scheduled(fixedDelayString = "${ewm-service.search.index.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (this) {
+            replay = new ArrayList<>();
+        }
+
+        Segment rebuilt = new Segment();
+        try {
+            jdbcTemplate.query("SELECT id, title, annotation, description, category_id, paid, event_date, "
+                            + "participant_limit, confirmed_requests FROM events WHERE state = 'PUBLISHED'",
+                    rs -> {
+                        rebuilt.apply(EventChangedEvent.builder()
+                                .id(rs.getLong("id"))
+                                .state(EventState.PUBLISHED)
+                                .title(rs.getString("title"))
+                                .annotation(rs.getString("annotation"))
+                                .description(rs.getString("description"))
+                                .categoryId(rs.getLong("category_id"))
+                                .paid(rs.getBoolean("paid"))
+                                .eventDate(rs.getTimestamp("event_date").toLocalDateTime())
+                                .participantLimit(rs.getInt("participant_limit"))
+                                .confirmedRequests(rs.getInt("confirmed_requests"))
+                                .build());
+                    });
+        } catch (RuntimeException e) {
+            log.error("Event search index rebuild failed", e);
+            synchronized (this) {
+                replay = null;
+            }
+            return;
+        }
+
+        synchronized (this) {
+            replay.forEach(rebuilt::apply);
+            replay = null;
+            segment = rebuilt;
+            ready = true;
+        }
+        log.info("Event search index rebuilt: {} events, {} terms", rebuilt.documents.size(), rebuilt.postings.size());
+        refreshRanking();
+    }
+
+    private static final class Document {
+        final long id;
+        final long categoryId;
+        final boolean paid;
+        final LocalDateTime eventDate;
+        final int participantLimit;
+        final int confirmedRequests;
+        final Map<String, Integer> terms;
+
+        Document(EventChangedEvent event) {
+            this.id = event.getId();
+            this.categoryId = event.getCategoryId();
+            this.paid = Boolean.TRUE.equals(event.getPaid());
+            this.eventDate = event.getEventDate();
+            this.participantLimit = event.getParticipantLimit() != null ? event.getParticipantLimit() : 0;
+            this.confirmedRequests = event.getConfirmedRequests() != null ? event.getConfirmedRequests() : 0;
+            this.terms = new HashMap<>();
+            tokenize(event.getTitle()).forEach(token -> terms.merge(token, TITLE, (a, b) -> a | b));
+            tokenize(event.getAnnotation()).forEach(token -> terms.merge(token, ANNOTATION, (a, b) -> a | b));
+            tokenize(event.getDescription()).forEach(token -> terms.merge(token, DESCRIPTION, (a, b) -> a | b));
+        }
+
+        boolean isAfter(EventCursor cursor) {
+            int byDate = eventDate.compareTo(cursor.getEventDate());
+            return byDate > 0 || byDate == 0 && id > cursor.getId();
+        }
+
+        boolean isAvailable() {
+            return participantLimit == 0 || confirmedRequests < participantLimit;
+        }
+    }
+
+    private static final class Segment {
+        final Map<Long, Document> documents = new ConcurrentHashMap<>();
+        final ConcurrentSkipListMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+
+        void apply(EventChangedEvent event) {
+            Document previous = event.getState() == EventState.PUBLISHED
+                    ? documents.put(event.getId(), new Document(event))
+                    : documents.remove(event.getId());
+
+            if (previous != null) {
+                previous.terms.keySet().forEach(term -> postings.computeIfPresent(term, (key, ids) -> {
+                    ids.remove(previous.id);
+                    return ids.isEmpty() ? null : ids;
+                }));
+            }
+            if (event.getState() == EventState.PUBLISHED) {
+                documents.get(event.getId()).terms.forEach((term, fields) ->
+                        postings.computeIfAbsent(term, key -> new ConcurrentHashMap<>()).put(event.getId(), fields));
+            }
+        }
+
+        Map<Long, Integer> match(List<String> tokens) {
+            Map<Long, Integer> scores = null;
+            for (String token : tokens) {
+                Map<Long, Integer> tokenScores = new HashMap<>();
+                postings.subMap(token, true, token + Character.MAX_VALUE, true).values()
+                        .forEach(ids -> ids.forEach((id, fields) -> tokenScores.merge(id, weight(fields), Math::max)));
+
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    Map<Long, Integer> intersection = new HashMap<>();
+                    for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+                        Integer score = tokenScores.get(entry.getKey());
+                        if (score != null) {
+                            intersection.put(entry.getKey(), entry.getValue() + score);
+                        }
+                    }
+                    scores = intersection;
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+            return scores;
+        }
+
+        // PublicEventReadRepository ranks the SQL path with the same weights
+        private static int weight(int fields) {
+            if ((fields & TITLE) != 0) {
+                return 3;
+            }
+            return (fields & ANNOTATION) != 0 ? 2 : 1;
+        }
+    }
+
+    // Upcoming events ordered by views, refreshed in bulk because views change on every hit
+    private static final class Ranking {
+        final LocalDateTime horizon;
+        final Map<Long, Long> views;
+        final long[] ids;
+        final Map<Long, long[]> byCategory;
+
+        Ranking(Segment segment, Map<Long, Long> views, LocalDateTime horizon) {
+            this.horizon = horizon;
+            this.views = views;
+
+            List<Document> upcoming = segment.documents.values().stream()
+                    .filter(document -> document.eventDate.isAfter(horizon))
+                    .sorted(byViews())
+                    .toList();
+            this.ids = upcoming.stream().mapToLong(document -> document.id).toArray();
+            this.byCategory = upcoming.stream()
+                    .collect(Collectors.groupingBy(document -> document.categoryId,
+                            Collectors.collectingAndThen(Collectors.toList(),
+                                    documents -> documents.stream().mapToLong(document -> document.id).toArray())));
+        }
+
+        long views(long id) {
+            return views.getOrDefault(id, 0L);
+        }
+
+        Comparator<Document> byViews() {
+            return Comparator.comparingLong((Document document) -> views(document.id)).reversed()
+                    .thenComparingLong(document -> document.id);
+        }
+
+        List<Long> top(Segment segment, Set<Long> categoryIds, Predicate<Document> filter,
+                       EventCursor after, int skip, int size) {
+            long[] ordered = categoryIds != null && categoryIds.size() == 1
+                    ? byCategory.getOrDefault(categoryIds.iterator().next(), new long[0])
+                    : ids;
+
+            List<Long> page = new ArrayList<>(size);
+            for (int i = after != null && !after.isFirst() ? seek(ordered, after) : 0;
+                 i < ordered.length && page.size() < size; i++) {
+                // Filters run on the live document, the ranking only fixes the order
+                Document document = segment.documents.get(ordered[i]);
+                if (document == null || !filter.test(document)) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                page.add(document.id);
+            }
+            return page;
+        }
+
+        private int seek(long[] ordered, EventCursor cursor) {
+            long cursorViews = views.getOrDefault(cursor.getId(), cursor.getViews());
+            int low = 0;
+            int high = ordered.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                long middleViews = views(ordered[middle]);
+                if (middleViews < cursorViews || middleViews == cursorViews && ordered[middle] > cursor.getId()) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+    }
+}
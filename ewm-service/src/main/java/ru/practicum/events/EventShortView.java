@@ -0,0 +1,22 @@
+package ru.practicum.events;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class EventShortView implements EventSortKey {
+    Long id;
+    String annotation;
+    Long categoryId;
+    String categoryName;
+    Integer confirmedRequests;
+    LocalDateTime eventDate;
+    Long initiatorId;
+    String initiatorName;
+    Boolean paid;
+    String title;
+    Long views;
+    EventState state;
+    LocalDateTime updatedOn;
+}
@@ -0,0 +1,10 @@
+package ru.practicum.events;
+
+import com.querydsl.core.types.Predicate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+public interface EventSliceRepository {
+
+    Slice<Event> findSlice(Predicate predicate, Pageable pageable);
+}
@@ -0,0 +1,52 @@
+package ru.practicum.events;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.support.Querydsl;
+import ru.practicum.categories.QCategory;
+import ru.practicum.user.QUser;
+
+import java.util.List;
+
+public class EventSliceRepositoryImpl implements EventSliceRepository {
+    private static final QEvent EVENT = QEvent.event;
+    private static final QCategory CATEGORY = QCategory.category;
+    private static final QUser INITIATOR = new QUser("initiator");
+
+    private final EntityManager entityManager;
+    private final Querydsl querydsl;
+
+    public EventSliceRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.querydsl = new Querydsl(entityManager, new PathBuilder<>(Event.class, EVENT.getMetadata()));
+    }
+
+    @Override
+    public Slice<Event> findSlice(Predicate predicate, Pageable pageable) {
+        JPAQuery<Event> query = new JPAQuery<Event>(entityManager)
+                .select(EVENT)
+                .from(EVENT)
+                .innerJoin(EVENT.category, CATEGORY).fetchJoin()
+                .innerJoin(EVENT.initiator, INITIATOR).fetchJoin()
+                .where(predicate);
+
+        return fetchSlice(query, pageable);
+    }
+
+    private <T> Slice<T> fetchSlice(JPAQuery<T> query, Pageable pageable) {
+        querydsl.applySorting(pageable.getSort(), query);
+
+        List<T> content = query
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1L)
+                .fetch();
+
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.events;
+
+import java.time.LocalDateTime;
+
+public interface EventSortKey {
+
+    Long getId();
+
+    LocalDateTime getEventDate();
+
+    Long getViews();
+}
@@ -0,0 +1,70 @@
+package ru.practicum.events;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventViewCounter {
+    private final ConcurrentHashMap<Long, Long> pending = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public void increment(Long eventId) {
+        pending.merge(eventId, 1L, Long::sum);
+    }
+
+    public void increment(Collection<Long> eventIds) {
+        eventIds.forEach(this::increment);
+    }
+
+    @Scheduled(fixedDelayString = "${ewm-service.views.flush-interval-ms:1000}")
+    public void flush() {
+        // Sorted by id so concurrent flushes from several instances lock rows in the same order
+        Map<Long, Long> deltas = new TreeMap<>();
+        // Removing the entry hands over its count atomically, so idle events don't stay in the map
+        for (Long eventId : pending.keySet()) {
+            Long delta = pending.remove(eventId);
+            if (delta != null) {
+                deltas.put(eventId, delta);
+            }
+        }
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> updates = new ArrayList<>(deltas.size());
+        deltas.forEach((eventId, delta) -> updates.add(new Object[]{delta, eventId}));
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate("UPDATE events SET views = views + ? WHERE id = ?", updates);
+                jdbcTemplate.batchUpdate("UPDATE public_events SET views = views + ? WHERE id = ?", updates);
+            });
+            log.debug("Flushed views for {} events", deltas.size());
+        } catch (DataAccessException e) {
+            log.error("Failed to flush views for {} events, will retry", deltas.size(), e);
+            deltas.forEach((eventId, delta) -> pending.merge(eventId, delta, Long::sum));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.events;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.clints.StatsClient;
+import ru.practicum.hit.ViewStatsDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class EventViewsResolver {
+    private static final String EVENT_URI_PREFIX = "/events/";
+    private static final LocalDateTime STATS_START = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    private final StatsClient statsClient;
+    private final ExecutorService loadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AsyncLoadingCache<Long, Long> views;
+
+    public EventViewsResolver(StatsClient statsClient,
+                              @Value("${ewm-service.views.cache-ttl-ms:5000}") long cacheTtlMs,
+                              @Value("${ewm-service.views.cache-size:100000}") long cacheSize) {
+        this.statsClient = statsClient;
+        // Concurrent lookups of the same ids share a single in-flight stats request
+        this.views = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(cacheTtlMs))
+                .maximumSize(cacheSize)
+                .executor(loadExecutor)
+                .buildAsync(new CacheLoader<>() {
+                    @Override
+                    public Long load(Long eventId) {
+                        return loadAll(Set.of(eventId)).get(eventId);
+                    }
+
+                    @Override
+                    public Map<Long, Long> loadAll(Set<? extends Long> eventIds) {
+                        return fetchViews(eventIds);
+                    }
+                });
+    }
+
+    public Map<Long, Long> getViews(Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            return views.getAll(eventIds).join();
+        } catch (Exception e) {
+            log.error("Failed to get views for events {} from stats service", eventIds, e);
+            return Map.of();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loadExecutor.close();
+    }
+
+    private Map<Long, Long> fetchViews(Set<? extends Long> eventIds) {
+        List<String> uris = eventIds.stream()
+                .map(id -> EVENT_URI_PREFIX + id)
+                .collect(Collectors.toList());
+
+        List<ViewStatsDto> stats = statsClient.getStats(STATS_START, LocalDateTime.now(), uris, true);
+
+        Map<Long, Long> result = new HashMap<>();
+        eventIds.forEach(id -> result.put(id, 0L));
+        stats.forEach(stat -> result.put(Long.valueOf(stat.getUri().substring(EVENT_URI_PREFIX.length())), stat.getHits()));
+        log.debug("Loaded views for {} events from stats service", result.size());
+        return result;
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.events;
+
+import jakarta.validation.ValidationException;
+import lombok.Value;
+
+@Value
+public class GeoArea {
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    double lat;
+    double lon;
+    double radiusKm;
+
+    public static GeoArea of(Double lat, Double lon, Double radiusKm) {
+        if (lat == null && lon == null && radiusKm == null) {
+            return null;
+        }
+        if (lat == null || lon == null || radiusKm == null) {
+            throw new ValidationException("lat, lon and radius must be given together");
+        }
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            throw new ValidationException(String.format("Invalid coordinates: lat=%s, lon=%s", lat, lon));
+        }
+        if (radiusKm <= 0) {
+            throw new ValidationException("radius must be positive");
+        }
+        return new GeoArea(lat, lon, radiusKm);
+    }
+
+    public double getMinLat() {
+        return Math.max(-90, lat - radiusKm / KM_PER_DEGREE);
+    }
+
+    public double getMaxLat() {
+        return Math.min(90, lat + radiusKm / KM_PER_DEGREE);
+    }
+
+    public double getMinLon() {
+        double delta = lonDelta();
+        return delta < 0 ? -180 : lon - delta;
+    }
+
+    public double getMaxLon() {
+        double delta = lonDelta();
+        return delta < 0 ? 180 : lon + delta;
+    }
+
+    // Negative when the box reaches a pole or wraps the antimeridian, the whole longitude range is scanned then
+    private double lonDelta() {
+        double cos = Math.cos(Math.toRadians(Math.max(Math.abs(getMinLat()), Math.abs(getMaxLat()))));
+        if (cos < 1e-6) {
+            return -1;
+        }
+        double delta = radiusKm / (KM_PER_DEGREE * cos);
+        return lon - delta < -180 || lon + delta > 180 ? -1 : delta;
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.events;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.categories.CategoryChangedEvent;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PublicEventProjector {
+    private static final String UPSERT = "INSERT INTO public_events (id, annotation, title, category_id, category_name, "
+            + "initiator_id, initiator_name, paid, event_date, participant_limit, confirmed_requests, available, "
+            + "views, search_vector, updated_on, lat, lon) "
+            + "SELECT e.id, e.annotation, e.title, c.id, c.name, u.id, u.name, e.paid, e.event_date, "
+            + "e.participant_limit, e.confirmed_requests, "
+            + "(e.participant_limit = 0 OR e.confirmed_requests < e.participant_limit), e.views, "
+            + "event_search_vector(e.title, e.annotation, e.description), GREATEST(e.updated_on, c.updated_on), "
+            + "e.lat, e.lon "
+            + "FROM events e "
+            + "JOIN categories c ON c.id = e.category_id "
+            + "JOIN users u ON u.id = e.initiator_id "
+            + "WHERE e.state = 'PUBLISHED' %s "
+            + "ON CONFLICT (id) DO UPDATE SET annotation = EXCLUDED.annotation, title = EXCLUDED.title, "
+            + "category_id = EXCLUDED.category_id, category_name = EXCLUDED.category_name, "
+            + "initiator_id = EXCLUDED.initiator_id, initiator_name = EXCLUDED.initiator_name, "
+            + "paid = EXCLUDED.paid, event_date = EXCLUDED.event_date, "
+            + "participant_limit = EXCLUDED.participant_limit, confirmed_requests = EXCLUDED.confirmed_requests, "
+            + "available = EXCLUDED.available, views = EXCLUDED.views, search_vector = EXCLUDED.search_vector, "
+            + "updated_on = EXCLUDED.updated_on, lat = EXCLUDED.lat, lon = EXCLUDED.lon";
+
+    private static final String UPDATE_PARTICIPATION = "UPDATE public_events p "
+            + "SET participant_limit = e.participant_limit, confirmed_requests = e.confirmed_requests, "
+            + "available = (e.participant_limit = 0 OR e.confirmed_requests < e.participant_limit), "
+            + "updated_on = GREATEST(p.updated_on, e.updated_on) "
+            + "FROM events e WHERE e.id = p.id AND p.id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onEventChanged(EventChangedEvent event) {
+        // Write-side changes are still in the persistence context, the projection reads them via SQL
+        entityManager.flush();
+
+        if (event.getState() != EventState.PUBLISHED) {
+            jdbcTemplate.update("DELETE FROM public_events WHERE id = ?", event.getId());
+        } else if (!event.isParticipationOnly() || jdbcTemplate.update(UPDATE_PARTICIPATION, event.getId()) == 0) {
+            jdbcTemplate.update(String.format(UPSERT, "AND e.id = ?"), event.getId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        entityManager.flush();
+
+        jdbcTemplate.update("UPDATE public_events p SET category_name = c.name, "
+                + "updated_on = GREATEST(p.updated_on, c.updated_on) FROM categories c "
+                + "WHERE c.id = p.category_id AND c.id = ?", event.getId());
+    }
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        int deleted = jdbcTemplate.update("DELETE FROM public_events p WHERE NOT EXISTS "
+                + "(SELECT 1 FROM events e WHERE e.id = p.id AND e.state = 'PUBLISHED')");
+        int upserted = jdbcTemplate.update(String.format(UPSERT, ""));
+
+        log.info("Public events read model rebuilt: {} upserted, {} removed", upserted, deleted);
+    }
+}
@@ -0,0 +1,155 @@
+package ru.practicum.events;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Repository
+@RequiredArgsConstructor
+public class PublicEventReadRepository {
+    private static final String SELECT = "SELECT id, annotation, category_id, category_name, confirmed_requests, "
+            + "event_date, initiator_id, initiator_name, paid, title, views, updated_on FROM public_events";
+    private static final String DISTANCE_KM = "(6371.0 * 2 * asin(least(1, sqrt(power(sin(radians(lat - :lat) / 2), 2) "
+            + "+ cos(radians(:lat)) * cos(radians(lat)) * power(sin(radians(lon - :lon) / 2), 2)))))";
+
+    private static final RowMapper<EventShortView> ROW_MAPPER = (rs, rowNum) -> new EventShortView(
+            rs.getLong("id"),
+            rs.getString("annotation"),
+            rs.getLong("category_id"),
+            rs.getString("category_name"),
+            rs.getInt("confirmed_requests"),
+            rs.getObject("event_date", LocalDateTime.class),
+            rs.getLong("initiator_id"),
+            rs.getString("initiator_name"),
+            rs.getBoolean("paid"),
+            rs.getString("title"),
+            rs.getLong("views"),
+            EventState.PUBLISHED,
+            rs.getObject("updated_on", LocalDateTime.class));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Optional<EventShortView> findById(Long id) {
+        return findByIdIn(List.of(id)).stream().findFirst();
+    }
+
+    public List<EventShortView> findByIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(SELECT + " WHERE id IN (:ids)", new MapSqlParameterSource("ids", ids), ROW_MAPPER);
+    }
+
+    public List<EventShortView> findByPublicFilters(String text,
+                                                    List<Long> categories,
+                                                    Boolean paid,
+                                                    LocalDateTime rangeStart,
+                                                    LocalDateTime rangeEnd,
+                                                    Boolean onlyAvailable,
+                                                    GeoArea area,
+                                                    EventSortType sort,
+                                                    EventCursor cursor,
+                                                    Integer from,
+                                                    Integer size
+    ) {
+        StringBuilder sql = new StringBuilder(SELECT).append(" WHERE event_date >= :rangeStart");
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("rangeStart", rangeStart != null ? rangeStart : LocalDateTime.now());
+
+        List<String> tokens = EventSearchIndex.tokenize(text);
+        if (!tokens.isEmpty()) {
+            sql.append(" AND search_vector @@ to_tsquery('simple', :query)");
+            params.addValue("query", tokens.stream()
+                    .map(PublicEventReadRepository::toPrefixQuery)
+                    .collect(Collectors.joining(" & ")));
+        }
+
+        if (categories != null && !categories.isEmpty()) {
+            sql.append(" AND category_id IN (:categories)");
+            params.addValue("categories", categories);
+        }
+
+        if (paid != null) {
+            sql.append(" AND paid = :paid");
+            params.addValue("paid", paid);
+        }
+
+        if (rangeEnd != null) {
+            sql.append(" AND event_date <= :rangeEnd");
+            params.addValue("rangeEnd", rangeEnd);
+        }
+
+        if (Boolean.TRUE.equals(onlyAvailable)) {
+            sql.append(" AND available");
+        }
+
+        if (area != null) {
+            // The box is served by the GiST index, the exact distance check runs only on its candidates
+            sql.append(" AND point(lon, lat) <@ box(point(:minLon, :minLat), point(:maxLon, :maxLat))")
+                    .append(" AND ").append(DISTANCE_KM).append(" <= :radius");
+            params.addValue("lat", area.getLat())
+                    .addValue("lon", area.getLon())
+                    .addValue("radius", area.getRadiusKm())
+                    .addValue("minLat", area.getMinLat())
+                    .addValue("maxLat", area.getMaxLat())
+                    .addValue("minLon", area.getMinLon())
+                    .addValue("maxLon", area.getMaxLon());
+        }
+
+        if (cursor != null) {
+            sort = cursor.getSort();
+            if (!cursor.isFirst()) {
+                params.addValue("cursorId", cursor.getId());
+                if (sort == EventSortType.VIEWS) {
+                    sql.append(" AND (views < :cursorViews OR views = :cursorViews AND id > :cursorId)");
+                    params.addValue("cursorViews", cursor.getViews());
+                } else {
+                    sql.append(" AND (event_date, id) > (:cursorDate, :cursorId)");
+                    params.addValue("cursorDate", cursor.getEventDate());
+                }
+            }
+        }
+
+        if (sort == null && !tokens.isEmpty()) {
+            sql.append(" ORDER BY ").append(relevance(tokens, params)).append(" DESC, event_date, id");
+        } else if (sort == EventSortType.VIEWS) {
+            sql.append(" ORDER BY views DESC, id");
+        } else if (sort == EventSortType.DISTANCE) {
+            sql.append(" ORDER BY ").append(DISTANCE_KM).append(", id");
+        } else {
+            sql.append(" ORDER BY event_date, id");
+        }
+
+        sql.append(" LIMIT :size OFFSET :offset");
+        params.addValue("size", size);
+        params.addValue("offset", cursor != null ? 0 : from);
+
+        return jdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+    }
+
+    // Scores like EventSearchIndex so both search paths return the same order: per token 3 for a title match,
+    // 2 for annotation, 1 for description only, summed over the tokens
+    private static String relevance(List<String> tokens, MapSqlParameterSource params) {
+        List<String> scores = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = ":token" + i;
+            params.addValue("token" + i, toPrefixQuery(tokens.get(i)));
+            scores.add("CASE WHEN ts_filter(search_vector, '{a}') @@ to_tsquery('simple', " + token + ") THEN 3 "
+                    + "WHEN ts_filter(search_vector, '{b}') @@ to_tsquery('simple', " + token + ") THEN 2 ELSE 1 END");
+        }
+        return "(" + String.join(" + ", scores) + ")";
+    }
+
+    private static String toPrefixQuery(String token) {
+        return token + ":*";
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.exception;
 
+import jakarta.validation.ValidationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -11,6 +12,13 @@ import ru.practicum.exeption.*;
 @Slf4j
 public class ServiceExceptionHandler {
 
+    @ExceptionHandler(ValidationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String handleValidationException(ValidationException ex) {
+        log.warn("Validation error in service: {}", ex.getMessage());
+        return ex.getMessage();
+    }
+
     @ExceptionHandler(DataConflictException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     public String handleDataConflictException(DataConflictException ex) {
@@ -0,0 +1,45 @@
+package ru.practicum.outbox;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "stats_outbox")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class HitOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    Long id;
+
+    @Column(nullable = false)
+    String app;
+
+    @Column(nullable = false)
+    String uri;
+
+    @Column(nullable = false)
+    String ip;
+
+    @Column(nullable = false)
+    LocalDateTime timestamp;
+
+    @Column(name = "claimed_on")
+    LocalDateTime claimedOn;
+
+    @Column(name = "sent_on")
+    LocalDateTime sentOn;
+
+    @Column(name = "failed_on")
+    LocalDateTime failedOn;
+}
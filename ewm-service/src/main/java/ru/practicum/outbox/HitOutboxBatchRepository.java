@@ -0,0 +1,8 @@
+package ru.practicum.outbox;
+
+import java.util.List;
+
+public interface HitOutboxBatchRepository {
+
+    void insertAll(List<HitOutbox> hits);
+}
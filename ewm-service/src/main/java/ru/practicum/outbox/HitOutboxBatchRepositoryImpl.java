@@ -0,0 +1,28 @@
+package ru.practicum.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class HitOutboxBatchRepositoryImpl implements HitOutboxBatchRepository {
+    private static final String INSERT = "INSERT INTO stats_outbox (app, uri, ip, timestamp) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // IDENTITY ids make Hibernate insert row by row, so a multi-hit write goes through one JDBC batch instead
+    @Override
+    public void insertAll(List<HitOutbox> hits) {
+        if (hits.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, hits, hits.size(), (ps, hit) -> {
+            ps.setString(1, hit.getApp());
+            ps.setString(2, hit.getUri());
+            ps.setString(3, hit.getIp());
+            ps.setTimestamp(4, Timestamp.valueOf(hit.getTimestamp()));
+        });
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import ru.practicum.clints.StatsClient;
+import ru.practicum.hit.NewHitRequest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class HitOutboxRelay {
+    private final HitOutboxRepository hitOutboxRepository;
+    private final StatsClient statsClient;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration sentRetention;
+    private final Duration claimTimeout;
+
+    public HitOutboxRelay(HitOutboxRepository hitOutboxRepository,
+                          StatsClient statsClient,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${stats-server.hits.batch-size:500}") int batchSize,
+                          @Value("${stats-server.hits.sent-retention-hours:24}") long sentRetentionHours,
+                          @Value("${stats-server.hits.claim-timeout-ms:60000}") long claimTimeoutMs) {
+        this.hitOutboxRepository = hitOutboxRepository;
+        this.statsClient = statsClient;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.sentRetention = Duration.ofHours(sentRetentionHours);
+        this.claimTimeout = Duration.ofMillis(claimTimeoutMs);
+    }
+
+    @Scheduled(fixedDelayString = "${stats-server.hits.relay-interval-ms:1000}")
+    public void relay() {
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == batchSize);
+        } catch (Exception e) {
+            log.error("Failed to relay hits to stats service, will retry", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${stats-server.hits.cleanup-interval-ms:3600000}")
+    public void cleanup() {
+        Integer deleted = transactionTemplate.execute(status ->
+                hitOutboxRepository.deleteSentBefore(LocalDateTime.now().minus(sentRetention)));
+        log.info("Deleted {} sent hits from outbox", deleted);
+    }
+
+    // Rows are claimed and committed first, so no row lock or transaction is held across the HTTP call
+    private int relayBatch() {
+        List<HitOutbox> hits = transactionTemplate.execute(status -> claimBatch());
+        if (hits == null || hits.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = hits.stream()
+                .map(HitOutbox::getId)
+                .collect(Collectors.toList());
+
+        try {
+            statsClient.sendHits(hits.stream()
+                    .map(hit -> NewHitRequest.builder()
+                            .app(hit.getApp())
+                            .uri(hit.getUri())
+                            .ip(hit.getIp())
+                            .timestamp(hit.getTimestamp())
+                            .build())
+                    .collect(Collectors.toList()));
+        } catch (WebClientResponseException e) {
+            if (!isRejected(e)) {
+                release(ids);
+                throw e;
+            }
+            transactionTemplate.executeWithoutResult(status ->
+                    hitOutboxRepository.markFailed(ids, LocalDateTime.now()));
+            log.warn("Stats service rejected {} hits with {}, marked them failed", ids.size(), e.getStatusCode());
+            return hits.size();
+        } catch (RuntimeException e) {
+            release(ids);
+            throw e;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> hitOutboxRepository.markSent(ids, LocalDateTime.now()));
+        log.info("Relayed {} hits to stats service", hits.size());
+        return hits.size();
+    }
+
+    private List<HitOutbox> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<HitOutbox> hits = hitOutboxRepository.lockUnsent(batchSize, now.minus(claimTimeout));
+        if (!hits.isEmpty()) {
+            hitOutboxRepository.markClaimed(hits.stream()
+                    .map(HitOutbox::getId)
+                    .collect(Collectors.toList()), now);
+        }
+        return hits;
+    }
+
+    private void release(List<Long> ids) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> hitOutboxRepository.releaseClaim(ids));
+        } catch (Exception e) {
+            log.warn("Failed to release {} claimed hits, they will be retried after the claim expires", ids.size(), e);
+        }
+    }
+
+    private static boolean isRejected(WebClientResponseException e) {
+        return e.getStatusCode().is4xxClientError()
+                && e.getStatusCode() != HttpStatus.TOO_MANY_REQUESTS
+                && e.getStatusCode() != HttpStatus.REQUEST_TIMEOUT;
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface HitOutboxRepository extends JpaRepository<HitOutbox, Long>, HitOutboxBatchRepository {
+
+    @Query(value = "SELECT * FROM stats_outbox " +
+            "WHERE sent_on IS NULL AND failed_on IS NULL " +
+            "AND (claimed_on IS NULL OR claimed_on < :claimExpiry) " +
+            "ORDER BY id " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<HitOutbox> lockUnsent(@Param("limit") int limit, @Param("claimExpiry") LocalDateTime claimExpiry);
+
+    @Modifying
+    @Query("UPDATE HitOutbox h SET h.claimedOn = :claimedOn WHERE h.id IN :ids")
+    int markClaimed(@Param("ids") Collection<Long> ids, @Param("claimedOn") LocalDateTime claimedOn);
+
+    @Modifying
+    @Query("UPDATE HitOutbox h SET h.claimedOn = NULL WHERE h.id IN :ids")
+    int releaseClaim(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE HitOutbox h SET h.failedOn = :failedOn WHERE h.id IN :ids")
+    int markFailed(@Param("ids") Collection<Long> ids, @Param("failedOn") LocalDateTime failedOn);
+
+    @Modifying
+    @Query("UPDATE HitOutbox h SET h.sentOn = :sentOn WHERE h.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentOn") LocalDateTime sentOn);
+
+    @Modifying
+    @Query("DELETE FROM HitOutbox h WHERE h.sentOn < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,50 @@
+package ru.practicum.outbox;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class HitRecorder {
+    private static final String APP = "ewm-main-service";
+
+    HitOutboxRepository hitOutboxRepository;
+
+    // A separate write transaction lets the public read around it stay read-only and run on a replica
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void record(String clientIp, String uri) {
+        HitOutbox hit = hitOutboxRepository.save(toHit(clientIp, uri, LocalDateTime.now()));
+
+        log.info("Hit recorded to outbox: {}", hit);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordAll(String clientIp, List<String> uris) {
+        LocalDateTime timestamp = LocalDateTime.now();
+        hitOutboxRepository.insertAll(uris.stream()
+                .map(uri -> toHit(clientIp, uri, timestamp))
+                .collect(Collectors.toList()));
+
+        log.info("{} hits recorded to outbox for ip {}", uris.size(), clientIp);
+    }
+
+    private static HitOutbox toHit(String clientIp, String uri, LocalDateTime timestamp) {
+        return HitOutbox.builder()
+                .app(APP)
+                .uri(uri)
+                .ip(clientIp)
+                .timestamp(timestamp)
+                .build();
+    }
+}
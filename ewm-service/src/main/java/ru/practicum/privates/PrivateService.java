@@ -3,9 +3,9 @@ package ru.practicum.privates;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,6 +18,7 @@ import ru.practicum.exeption.*;
 import ru.practicum.requests.*;
 import ru.practicum.user.User;
 import ru.practicum.user.UserRepository;
+import ru.practicum.util.OffsetPageRequest;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -39,6 +40,7 @@ public class PrivateService {
     EventMapper eventMapper;
     RequestMapper requestMapper;
     CommentMapper commentMapper;
+    ApplicationEventPublisher eventPublisher;
 
     public EventDto addEvent(Long userId, NewEventRequest request) {
         log.info("Adding event {}", request);
@@ -98,9 +100,9 @@ public class PrivateService {
             throw new NotFoundException(String.format("User with id=%d was not found", userId));
         }
 
-        Pageable pageable = PageRequest.of(from / size, size);
+        Pageable pageable = OffsetPageRequest.of(from, size);
 
-        List<Event> event = eventRepository.findByInitiatorId(userId, pageable);
+        List<Event> event = eventRepository.findByInitiatorId(userId, pageable).getContent();
         return event.stream()
                 .map(eventMapper::toDto)
                 .collect(Collectors.toList());
@@ -182,6 +184,7 @@ public class PrivateService {
         }
 
         event = eventRepository.save(event);
+        eventPublisher.publishEvent(EventChangedEvent.of(event));
         return eventMapper.toDto(event);
     }
 
@@ -267,6 +270,7 @@ public class PrivateService {
 
         requestsRepository.saveAll(requests);
         eventRepository.save(event);
+        eventPublisher.publishEvent(EventChangedEvent.participationOf(event));
 
         return EventRequestStatusUpdateResult.builder()
                 .confirmedRequests(confirmed)
@@ -313,6 +317,7 @@ public class PrivateService {
         }
 
         event = eventRepository.save(event);
+        eventPublisher.publishEvent(EventChangedEvent.participationOf(event));
         request = requestsRepository.save(request);
         log.info("Request {} added to the event {}", request, event.getId());
         return requestMapper.requestToRequestDto(request);
@@ -359,6 +364,7 @@ public class PrivateService {
             log.info("After 1 request cancellation event have confirmed requests {}",
                     event.getConfirmedRequests());
             eventRepository.save(event);
+            eventPublisher.publishEvent(EventChangedEvent.participationOf(event));
         }
 
         request.setStatus(RequestStatus.CANCELED);
@@ -496,9 +502,9 @@ public class PrivateService {
         log.info("Getting comments from user {}, to event {}", userId, eventId);
         checkCommentConditions(userId, eventId);
 
-        Pageable pageable = PageRequest.of(from / size, size, Sort.by("creationDate").descending());
+        Pageable pageable = OffsetPageRequest.of(from, size, Sort.by("creationDate").descending());
 
-        Page<ru.practicum.comments.Comment> commentPage = commentRepository.findByEvent_IdAndDeleted(eventId, false, pageable);
+        Slice<ru.practicum.comments.Comment> commentPage = commentRepository.findByEvent_IdAndDeleted(eventId, false, pageable);
 
         return Flux.fromIterable(commentPage.getContent())
                 .map(commentMapper::commentToCommentDto);
@@ -539,9 +545,9 @@ public class PrivateService {
             throw new NotFoundException(String.format("User with id=%d was not found", userId));
         }
 
-        Pageable pageable = PageRequest.of(from / size, size, Sort.by("creationDate").descending());
+        Pageable pageable = OffsetPageRequest.of(from, size, Sort.by("creationDate").descending());
 
-        Page<Comment> comments = switch (param) {
+        Slice<Comment> comments = switch (param) {
             case SHOW_ALL -> commentRepository.findByAuthor_Id(userId, pageable);
             case SHOW_ACTIVE -> commentRepository
                     .findByAuthor_IdAndDeleted(userId, false, pageable);
@@ -583,7 +589,9 @@ public class PrivateService {
         }
         log.info("Comments setting updated. Setting {} for event {}", command, eventId);
 
-        return eventMapper.toSimpleDto(eventRepository.save(event));
+        event = eventRepository.save(event);
+        eventPublisher.publishEvent(EventChangedEvent.of(event));
+        return eventMapper.toSimpleDto(event);
     }
 
     private void checkCommentConditions(Long userId, Long eventId) {
@@ -0,0 +1,191 @@
+package ru.practicum.publics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.categories.CategoryChangedEvent;
+import ru.practicum.categories.CategoryDto;
+import ru.practicum.categories.CategoryMapper;
+import ru.practicum.categories.CategoryRepository;
+import ru.practicum.compilations.CompilationChangedEvent;
+import ru.practicum.compilations.CompilationDto;
+import ru.practicum.compilations.CompilationsMapper;
+import ru.practicum.compilations.CompilationsRepository;
+import ru.practicum.events.EventChangedEvent;
+import ru.practicum.events.EventDto;
+import ru.practicum.util.ResourceVersion;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+@Component
+public class PublicCatalog {
+    private final CategoryRepository categoryRepository;
+    private final CompilationsRepository compilationsRepository;
+    private final CategoryMapper categoryMapper;
+    private final CompilationsMapper compilationsMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    public PublicCatalog(CategoryRepository categoryRepository,
+                         CompilationsRepository compilationsRepository,
+                         CategoryMapper categoryMapper,
+                         CompilationsMapper compilationsMapper,
+                         PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        this.compilationsRepository = compilationsRepository;
+        this.categoryMapper = categoryMapper;
+        this.compilationsMapper = compilationsMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public List<CategoryDto> getCategories(int from, int size) {
+        return page(current().categories, from, size);
+    }
+
+    public Optional<CategoryDto> getCategory(Long id) {
+        return Optional.ofNullable(current().categoriesById.get(id));
+    }
+
+    public List<CompilationDto> getCompilations(int from, int size) {
+        return page(current().compilations, from, size);
+    }
+
+    public Optional<CompilationDto> getCompilation(Long id) {
+        return Optional.ofNullable(current().compilationsById.get(id));
+    }
+
+    public ResourceVersion version(Object content) {
+        return ResourceVersion.of(current().modifiedAt, content);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${ewm-service.catalog.refresh-interval-ms:60000}",
+            initialDelayString = "${ewm-service.catalog.refresh-interval-ms:60000}")
+    public synchronized void rebuild() {
+        Snapshot rebuilt = transactionTemplate.execute(status -> {
+            List<CategoryDto> categories = categoryRepository.findAll(Sort.by("id")).stream()
+                    .map(categoryMapper::categoryToCategoryDto)
+                    .toList();
+            List<CompilationDto> compilations = compilationsRepository.findAllWithEventsBy().stream()
+                    .map(compilationsMapper::toDto)
+                    .toList();
+            return new Snapshot(categories, compilations, snapshot.get());
+        });
+        snapshot.set(rebuilt);
+        log.info("Public catalog rebuilt: {} categories, {} compilations",
+                rebuilt.categories.size(), rebuilt.compilations.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCompilationChanged(CompilationChangedEvent event) {
+        reloadCompilations(Set.of(event.getId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        Set<Long> compilationIds = current().compilationsByEvent.getOrDefault(event.getId(), Set.of());
+        if (!compilationIds.isEmpty()) {
+            reloadCompilations(compilationIds);
+        }
+    }
+
+    private synchronized void reloadCompilations(Set<Long> ids) {
+        Snapshot previous = snapshot.get();
+        if (previous == null) {
+            rebuild();
+            return;
+        }
+
+        Map<Long, CompilationDto> compilations = new HashMap<>(previous.compilationsById);
+        transactionTemplate.executeWithoutResult(status -> ids.forEach(id ->
+                compilationsRepository.findWithEventsById(id).map(compilationsMapper::toDto).ifPresentOrElse(
+                        compilation -> compilations.put(id, compilation),
+                        () -> compilations.remove(id))));
+
+        snapshot.set(new Snapshot(previous.categories, compilations.values(), previous));
+        log.debug("Public catalog reloaded compilations {}", ids);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            rebuild();
+            current = snapshot.get();
+        }
+        return current;
+    }
+
+    private static <T> List<T> page(List<T> items, int from, int size) {
+        if (from < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be positive");
+        }
+        if (from >= items.size()) {
+            return List.of();
+        }
+        return items.subList(from, Math.min(items.size(), from + size));
+    }
+
+    private static final class Snapshot {
+        final List<CategoryDto> categories;
+        final Map<Long, CategoryDto> categoriesById;
+        final List<CompilationDto> compilations;
+        final Map<Long, CompilationDto> compilationsById;
+        final Map<Long, Set<Long>> compilationsByEvent;
+        final LocalDateTime modifiedAt;
+
+        Snapshot(Collection<CategoryDto> categories, Collection<CompilationDto> compilations, Snapshot previous) {
+            this.categories = categories.stream()
+                    .sorted(Comparator.comparing(CategoryDto::getId))
+                    .toList();
+            this.compilations = compilations.stream()
+                    .sorted(Comparator.comparing(CompilationDto::getId))
+                    .toList();
+
+            Map<Long, CategoryDto> categoriesById = new HashMap<>();
+            this.categories.forEach(category -> categoriesById.put(category.getId(), category));
+            this.categoriesById = Map.copyOf(categoriesById);
+
+            Map<Long, CompilationDto> compilationsById = new HashMap<>();
+            Map<Long, Set<Long>> compilationsByEvent = new HashMap<>();
+            for (CompilationDto compilation : this.compilations) {
+                compilationsById.put(compilation.getId(), compilation);
+                if (compilation.getEvents() == null) {
+                    continue;
+                }
+                for (EventDto event : compilation.getEvents()) {
+                    compilationsByEvent.computeIfAbsent(event.getId(), id -> new HashSet<>())
+                            .add(compilation.getId());
+                }
+            }
+            this.compilationsById = Map.copyOf(compilationsById);
+            this.compilationsByEvent = Map.copyOf(compilationsByEvent);
+
+            this.modifiedAt = previous != null
+                    && previous.categories.equals(this.categories)
+                    && previous.compilations.equals(this.compilations)
+                    ? previous.modifiedAt
+                    : LocalDateTime.now();
+        }
+    }
+}
@@ -3,12 +3,19 @@ package ru.practicum.publics;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.categories.CategoryDto;
 import ru.practicum.compilations.CompilationDto;
-import ru.practicum.events.EventDto;
+import ru.practicum.events.EventClusterDto;
 import ru.practicum.events.EventShortDto;
+import ru.practicum.events.EventShortView;
 import ru.practicum.events.EventSortType;
+import ru.practicum.util.CursorPage;
+import ru.practicum.util.ResourceVersion;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -20,37 +27,45 @@ public class PublicInternalController {
     private final PublicService publicService;
 
     @GetMapping("/categories")
-    public List<CategoryDto> getCategories(
+    public ResponseEntity<List<CategoryDto>> getCategories(
             @RequestParam(defaultValue = "0") Integer from,
-            @RequestParam(defaultValue = "10") Integer size
+            @RequestParam(defaultValue = "10") Integer size,
+            WebRequest request
     ) {
-        return publicService.getCategories(from, size);
+        List<CategoryDto> categories = publicService.getCategories(from, size);
+        return conditional(request, publicService.getCatalogVersion(categories), categories);
     }
 
     @GetMapping("/categories/{catId}")
-    public CategoryDto getCategory(
-            @PathVariable Long catId
+    public ResponseEntity<CategoryDto> getCategory(
+            @PathVariable Long catId,
+            WebRequest request
     ) {
-        return publicService.getCategory(catId);
+        CategoryDto category = publicService.getCategory(catId);
+        return conditional(request, publicService.getCatalogVersion(category), category);
     }
 
     @GetMapping("/compilations")
-    public List<CompilationDto> getCompilations(
+    public ResponseEntity<List<CompilationDto>> getCompilations(
             @RequestParam(defaultValue = "0") Integer from,
-            @RequestParam(defaultValue = "10") Integer size
+            @RequestParam(defaultValue = "10") Integer size,
+            WebRequest request
     ) {
-        return publicService.getCompilations(from, size);
+        List<CompilationDto> compilations = publicService.getCompilations(from, size);
+        return conditional(request, publicService.getCatalogVersion(compilations), compilations);
     }
 
     @GetMapping("/compilations/{compId}")
-    public CompilationDto getCompilationById(
-            @PathVariable Long compId
+    public ResponseEntity<CompilationDto> getCompilationById(
+            @PathVariable Long compId,
+            WebRequest request
     ) {
-        return publicService.getCompilationById(compId);
+        CompilationDto compilation = publicService.getCompilationById(compId);
+        return conditional(request, publicService.getCatalogVersion(compilation), compilation);
     }
 
     @GetMapping("/events")
-    public List<EventShortDto> getEvents(
+    public ResponseEntity<List<EventShortDto>> getEvents(
             @RequestParam(required = false) String text,
             @RequestParam(required = false) List<Long> categories,
             @RequestParam(required = false) Boolean paid,
@@ -59,27 +74,76 @@ public class PublicInternalController {
             @RequestParam(required = false)
             @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime rangeEnd,
             @RequestParam(defaultValue = "false") Boolean onlyAvailable,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) Double radius,
             @RequestParam(required = false) EventSortType sort,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "0") Integer from,
             @RequestParam(defaultValue = "10") Integer size,
-            @RequestHeader("X-Client-IP") String clientIp
-
+            @RequestHeader("X-Client-IP") String clientIp,
+            WebRequest request
     ) {
-        return publicService.getEvents(text,
+        CursorPage<EventShortView> page = publicService.findEvents(text,
                 categories,
                 paid,
                 rangeStart,
                 rangeEnd,
                 onlyAvailable,
+                lat,
+                lon,
+                radius,
                 sort,
+                cursor,
                 from,
-                size,
-                clientIp);
+                size);
+
+        // A revalidated page still counts as viewed, it just skips the views lookup and mapping
+        if (notModified(request, publicService.getEventsVersion(page))) {
+            publicService.recordEventsView(page.getContent(), clientIp);
+            return notModifiedResponse();
+        }
+        return publicService.getEvents(page, clientIp).toResponseEntity();
+    }
+
+    @GetMapping("/events/clusters")
+    public List<EventClusterDto> getEventClusters(
+            @RequestParam List<Double> bbox,
+            @RequestParam Integer zoom
+    ) {
+        return publicService.getEventClusters(bbox, zoom);
+    }
+
+    @GetMapping("/events/batch")
+    public ResponseEntity<byte[]> getEventsBatch(@RequestParam List<Long> ids,
+                                                 @RequestHeader("X-Client-IP") String clientIp) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(publicService.getEventsBatch(ids, clientIp));
     }
 
     @GetMapping("/events/{id}")
-    public EventDto getEvent(@PathVariable Long id,
-                             @RequestHeader("X-Client-IP") String clientIp) {
-        return publicService.getEvent(id, clientIp);
+    public ResponseEntity<byte[]> getEvent(@PathVariable Long id,
+                                           @RequestHeader("X-Client-IP") String clientIp,
+                                           WebRequest request) {
+        if (notModified(request, publicService.getEventVersion(id))) {
+            publicService.recordEventView(id, clientIp);
+            return notModifiedResponse();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(publicService.getEvent(id, clientIp));
+    }
+
+    private static boolean notModified(WebRequest request, ResourceVersion version) {
+        return request.checkNotModified(version.getETag(), version.getLastModified());
+    }
+
+    private static <T> ResponseEntity<T> conditional(WebRequest request, ResourceVersion version, T body) {
+        return notModified(request, version) ? notModifiedResponse() : ResponseEntity.ok(body);
+    }
+
+    private static <T> ResponseEntity<T> notModifiedResponse() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
     }
 }
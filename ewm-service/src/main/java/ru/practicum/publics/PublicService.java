@@ -1,28 +1,27 @@
 package ru.practicum.publics;
 
+import jakarta.validation.ValidationException;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.categories.Category;
 import ru.practicum.categories.CategoryDto;
-import ru.practicum.categories.CategoryMapper;
-import ru.practicum.categories.CategoryRepository;
-import ru.practicum.clints.StatsClient;
-import ru.practicum.compilations.Compilation;
 import ru.practicum.compilations.CompilationDto;
-import ru.practicum.compilations.CompilationsMapper;
-import ru.practicum.compilations.CompilationsRepository;
 import ru.practicum.events.*;
 import ru.practicum.exeption.NotFoundException;
-import ru.practicum.hit.NewHitRequest;
+import ru.practicum.outbox.HitRecorder;
+import ru.practicum.util.CursorPage;
+import ru.practicum.util.ResourceVersion;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,124 +30,228 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class PublicService {
-    CategoryRepository categoryRepository;
+    private static final int MAX_BATCH_SIZE = 100;
+
     EventRepository eventRepository;
-    CompilationsRepository cCompilationsRepository;
 
     EventMapper eventMapper;
-    CategoryMapper categoryMapper;
-    CompilationsMapper compilationsMapper;
-    StatsClient statsClient;
+    HitRecorder hitRecorder;
+    EventViewCounter eventViewCounter;
+    EventViewsResolver eventViewsResolver;
+    EventSearchIndex eventSearchIndex;
+    PublicEventReadRepository publicEventReadRepository;
+    PublicCatalog publicCatalog;
+    EventDetailCache eventDetailCache;
+    EventClusterGrid eventClusterGrid;
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<CategoryDto> getCategories(Integer from, Integer size) {
         log.info("Getting categories from {} size {}", from, size);
-        Pageable pageable = PageRequest.of(from / size, size);
-
-        List<Category> categories = categoryRepository.findAll(pageable).getContent();
 
-        return categories.stream()
-                .map(categoryMapper::categoryToCategoryDto)
-                .collect(Collectors.toList());
+        return publicCatalog.getCategories(from, size);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public CategoryDto getCategory(Long id) {
         log.info("Getting category with id {}", id);
 
-        Category category = categoryRepository.findById(id).orElseThrow(
+        return publicCatalog.getCategory(id).orElseThrow(
                 () -> new NotFoundException("Category with id=" + id + " was not found")
         );
-
-        return categoryMapper.categoryToCategoryDto(category);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<CompilationDto> getCompilations(Integer from, Integer size) {
         log.info("Get compilations from {} size {}", from, size);
 
-        Pageable pageable = PageRequest.of(from / size, size);
-
-        List<Compilation> compilations = cCompilationsRepository.findAll(pageable).getContent();
-
-        return compilations.stream()
-                .map(compilationsMapper::toDto)
-                .collect(Collectors.toList());
+        return publicCatalog.getCompilations(from, size);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public CompilationDto getCompilationById(Long compId) {
         log.info("Getting compilation with id {}", compId);
 
-        Compilation compilation = cCompilationsRepository.findById(compId).orElseThrow(
+        return publicCatalog.getCompilation(compId).orElseThrow(
                 () -> new NotFoundException("Compilation with id=" + compId + " was not found")
         );
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ResourceVersion getCatalogVersion(Object content) {
+        return publicCatalog.version(content);
+    }
 
-        return compilationsMapper.toDto(compilation);
+    // Only the read model row is read, so a revalidated request never loads or renders the event
+    public ResourceVersion getEventVersion(Long id) {
+        EventShortView current = findPublicEvent(id);
+
+        return ResourceVersion.ofContent(id, current.getUpdatedOn(), current.getViews());
     }
 
-    public EventDto getEvent(Long id, String clientIp) {
+    public byte[] getEvent(Long id, String clientIp) {
         log.info("Getting event with id {}", id);
 
-        Event event = eventRepository.findById(id).orElseThrow(
-                () -> new NotFoundException("Event with id=" + id + " was not found")
-        );
+        EventShortView current = findPublicEvent(id);
+        recordEventView(id, clientIp);
 
-        if (event.getState() != EventState.PUBLISHED) {
-            throw new NotFoundException("Event with id=" + id + " was not found");
+        Long views = eventViewsResolver.getViews(List.of(id)).getOrDefault(id, current.getViews());
+
+        return eventDetailCache.get(id, current.getUpdatedOn(), views, placeholder -> eventMapper.toDto(
+                eventRepository.findById(id).orElseThrow(
+                        () -> new NotFoundException("Event with id=" + id + " was not found")),
+                placeholder));
+    }
+
+    public void recordEventView(Long id, String clientIp) {
+        eventViewCounter.increment(id);
+        hitRecorder.record(clientIp, "/events/" + id);
+    }
+
+    public byte[] getEventsBatch(List<Long> ids, String clientIp) {
+        log.info("Getting events batch {}", ids);
+
+        List<Long> requested = ids.stream().distinct().collect(Collectors.toList());
+        if (requested.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("ids must contain at most " + MAX_BATCH_SIZE + " events");
         }
 
-        event.setViews(event.getViews() + 1);
-        eventRepository.save(event);
-        sendHitToStats(clientIp, "/events/" + id);
+        // Unknown and unpublished ids are skipped so one stale card doesn't fail the whole screen
+        List<EventShortView> events = orderedByIds(requested);
+        List<Long> found = events.stream().map(EventShortView::getId).collect(Collectors.toList());
 
-        return eventMapper.toDto(event);
+        eventViewCounter.increment(found);
+        hitRecorder.recordAll(clientIp, found.stream().map(id -> "/events/" + id).collect(Collectors.toList()));
+
+        Map<Long, Long> views = eventViewsResolver.getViews(found);
+
+        return eventDetailCache.getArray(events, views, (missing, placeholder) -> eventRepository.findByIdIn(missing)
+                .stream()
+                .filter(event -> event.getState() == EventState.PUBLISHED)
+                .collect(Collectors.toMap(Event::getId, event -> eventMapper.toDto(event, placeholder))));
     }
 
-    public List<EventShortDto> getEvents(String text,
-                                         List<Long> categories,
-                                         Boolean paid,
-                                         LocalDateTime rangeStart,
-                                         LocalDateTime rangeEnd,
-                                         Boolean onlyAvailable,
-                                         EventSortType sort,
-                                         Integer from,
-                                         Integer size, String clientIp
+    public CursorPage<EventShortView> findEvents(String text,
+                                                 List<Long> categories,
+                                                 Boolean paid,
+                                                 LocalDateTime rangeStart,
+                                                 LocalDateTime rangeEnd,
+                                                 Boolean onlyAvailable,
+                                                 Double lat,
+                                                 Double lon,
+                                                 Double radius,
+                                                 EventSortType sort,
+                                                 String cursor,
+                                                 Integer from,
+                                                 Integer size
     ) {
-        List<Event> events = eventRepository.findByPublicFilters(
+        EventCursor eventCursor = EventCursor.parse(cursor, sort);
+        GeoArea area = GeoArea.of(lat, lon, radius);
+        if (sort == EventSortType.DISTANCE && area == null) {
+            throw new ValidationException("Sort DISTANCE requires lat, lon and radius");
+        }
+
+        List<EventShortView> events = findPublicEvents(
                 text,
                 categories,
                 paid,
                 rangeStart,
                 rangeEnd,
                 onlyAvailable,
+                area,
                 sort,
+                eventCursor,
                 from,
                 size);
 
-        if (!events.isEmpty()) {
-            events.stream().forEach(event -> {
-                event.setViews(event.getViews() + 1);
-                eventRepository.save(event);
-            });
-        }
-        sendHitToStats(clientIp, "/events");
+        String nextCursor = eventCursor != null && events.size() == size
+                ? EventCursor.after(eventCursor.getSort(), events.getLast()).encode()
+                : null;
 
-        return events.stream()
-                .map(eventMapper::toShortDto)
-                .collect(Collectors.toList());
+        return new CursorPage<>(events, nextCursor);
+    }
+
+    public ResourceVersion getEventsVersion(CursorPage<EventShortView> page) {
+        Object[] content = page.getContent().stream()
+                .map(event -> Arrays.asList(event.getId(), event.getUpdatedOn(), event.getViews()))
+                .toArray();
+
+        return ResourceVersion.ofContent(page.getNextCursor(), content);
+    }
+
+    public CursorPage<EventShortDto> getEvents(CursorPage<EventShortView> page, String clientIp) {
+        List<EventShortView> events = page.getContent();
+        recordEventsView(events, clientIp);
+
+        Map<Long, Long> views = eventViewsResolver.getViews(events.stream()
+                .map(EventShortView::getId)
+                .collect(Collectors.toList()));
 
+        return new CursorPage<>(events.stream()
+                .map(event -> eventMapper.toShortDto(event, views.getOrDefault(event.getId(), event.getViews())))
+                .collect(Collectors.toList()), page.getNextCursor());
     }
 
-    private void sendHitToStats(String clientIp, String uri) {
-        try {
-            NewHitRequest hitRequest = NewHitRequest.builder()
-                    .app("ewm-main-service")
-                    .uri(uri)
-                    .ip(clientIp)
-                    .timestamp(LocalDateTime.now())
-                    .build();
+    public void recordEventsView(List<EventShortView> events, String clientIp) {
+        events.forEach(event -> eventViewCounter.increment(event.getId()));
+        hitRecorder.record(clientIp, "/events");
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<EventClusterDto> getEventClusters(List<Double> bbox, Integer zoom) {
+        log.info("Getting event clusters for bbox {} zoom {}", bbox, zoom);
+
+        if (bbox.size() != 4) {
+            throw new ValidationException("bbox must be minLon,minLat,maxLon,maxLat");
+        }
+        double minLon = bbox.get(0);
+        double minLat = bbox.get(1);
+        double maxLon = bbox.get(2);
+        double maxLat = bbox.get(3);
+        if (minLon > maxLon || minLat > maxLat) {
+            throw new ValidationException("bbox minimum corner must be south-west of the maximum corner");
+        }
+
+        return eventClusterGrid.clusters(minLon, minLat, maxLon, maxLat, zoom);
+    }
 
-            log.info("Sending hit to stats: {}", hitRequest);
-            statsClient.addHit(hitRequest);
-        } catch (Exception e) {
-            log.error("Failed to send hit to stats service", e);
+    private List<EventShortView> findPublicEvents(String text,
+                                                  List<Long> categories,
+                                                  Boolean paid,
+                                                  LocalDateTime rangeStart,
+                                                  LocalDateTime rangeEnd,
+                                                  Boolean onlyAvailable,
+                                                  GeoArea area,
+                                                  EventSortType sort,
+                                                  EventCursor cursor,
+                                                  Integer from,
+                                                  Integer size
+    ) {
+        EventSortType order = cursor != null ? cursor.getSort() : sort;
+        if (area != null || !eventSearchIndex.isReady()) {
+            return publicEventReadRepository.findByPublicFilters(
+                    text, categories, paid, rangeStart, rangeEnd, onlyAvailable, area, sort, cursor, from, size);
         }
+
+        List<Long> ids = eventSearchIndex.search(
+                text, categories, paid, rangeStart, rangeEnd, Boolean.TRUE.equals(onlyAvailable), order, cursor,
+                from, size);
+
+        return orderedByIds(ids);
+    }
+
+    private EventShortView findPublicEvent(Long id) {
+        return publicEventReadRepository.findById(id).orElseThrow(
+                () -> new NotFoundException("Event with id=" + id + " was not found")
+        );
+    }
+
+    private List<EventShortView> orderedByIds(List<Long> ids) {
+        Map<Long, EventShortView> events = publicEventReadRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(EventShortView::getId, Function.identity()));
+
+        return ids.stream()
+                .map(events::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
@@ -1,17 +1,25 @@
 package ru.practicum.user;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Checked on nearly every private request, so the answer comes from the query cache until users change
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    boolean existsById(Long id);
+
     boolean existsByEmail(String email);
 
     @Query("SELECT u FROM User u WHERE u.id IN :ids")
-    List<User> findUsersByIds(@Param("ids") List<Long> ids, Pageable pageable);
+    Slice<User> findUsersByIds(@Param("ids") List<Long> ids, Pageable pageable);
 
-    List<User> findAllBy(Pageable pageable);
+    Slice<User> findAllBy(Pageable pageable);
 }
\ No newline at end of file
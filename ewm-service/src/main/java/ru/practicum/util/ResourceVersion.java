@@ -0,0 +1,41 @@
+package ru.practicum.util;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+@Value
+public class ResourceVersion {
+    private static final int ETAG_BYTES = 16;
+
+    String eTag;
+    long lastModified;
+
+    // Only for content that can't change without modifiedAt moving, or If-Modified-Since alone would get a false 304
+    public static ResourceVersion of(LocalDateTime modifiedAt, Object... content) {
+        long lastModified = modifiedAt != null
+                ? modifiedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+        return new ResourceVersion(eTag(lastModified, Arrays.deepToString(content)), lastModified);
+    }
+
+    public static ResourceVersion ofContent(Object... content) {
+        return new ResourceVersion(eTag(Arrays.deepToString(content)), -1);
+    }
+
+    private static String eTag(Object... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(Arrays.deepToString(parts).getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(hash, 0, ETAG_BYTES) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -8,7 +8,8 @@ CREATE TABLE IF NOT EXISTS users
 CREATE TABLE IF NOT EXISTS categories
 (
     id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
-    name VARCHAR(250) UNIQUE NOT NULL
+    name       VARCHAR(250) UNIQUE NOT NULL,
+    updated_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP
     );
 
 CREATE TABLE IF NOT EXISTS events
@@ -27,6 +28,7 @@ CREATE TABLE IF NOT EXISTS events
     initiator_id       BIGINT        NOT NULL,
     created_on         TIMESTAMP              DEFAULT CURRENT_TIMESTAMP,
     published_on       TIMESTAMP,
+    updated_on         TIMESTAMP              DEFAULT CURRENT_TIMESTAMP,
     state              VARCHAR(20)            DEFAULT 'PENDING',
     confirmed_requests INTEGER                DEFAULT 0,
     views              BIGINT                 DEFAULT 0,
@@ -36,6 +38,41 @@ CREATE TABLE IF NOT EXISTS events
     CONSTRAINT fk_events_initiator FOREIGN KEY (initiator_id) REFERENCES users (id) ON DELETE CASCADE
     );
 
+CREATE OR REPLACE FUNCTION event_search_vector(title TEXT, annotation TEXT, description TEXT)
+    RETURNS tsvector
+    LANGUAGE sql
+    IMMUTABLE
+    PARALLEL SAFE
+AS
+$$
+SELECT setweight(to_tsvector('simple', coalesce(title, '')), 'A')
+           || setweight(to_tsvector('simple', coalesce(annotation, '')), 'B')
+           || setweight(to_tsvector('simple', coalesce(description, '')), 'C')
+$$;
+
+CREATE TABLE IF NOT EXISTS public_events
+(
+    id                 BIGINT PRIMARY KEY,
+    annotation         VARCHAR(2000) NOT NULL,
+    title              VARCHAR(120)  NOT NULL,
+    category_id        BIGINT        NOT NULL,
+    category_name      VARCHAR(250)  NOT NULL,
+    initiator_id       BIGINT        NOT NULL,
+    initiator_name     VARCHAR(250)  NOT NULL,
+    paid               BOOLEAN       NOT NULL,
+    event_date         TIMESTAMP     NOT NULL,
+    participant_limit  INTEGER       NOT NULL,
+    confirmed_requests INTEGER       NOT NULL,
+    available          BOOLEAN       NOT NULL,
+    views              BIGINT        NOT NULL DEFAULT 0,
+    search_vector      TSVECTOR      NOT NULL,
+    updated_on         TIMESTAMP,
+    lat                DOUBLE PRECISION,
+    lon                DOUBLE PRECISION,
+
+    CONSTRAINT fk_public_events_event FOREIGN KEY (id) REFERENCES events (id) ON DELETE CASCADE
+    );
+
 CREATE TABLE IF NOT EXISTS requests
 (
     id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -85,6 +122,18 @@ CREATE TABLE IF NOT EXISTS comments
     FOREIGN KEY (parent_comment_id) REFERENCES comments (id)
     );
 
+CREATE TABLE IF NOT EXISTS stats_outbox
+(
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    app        VARCHAR(255) NOT NULL,
+    uri        VARCHAR(512) NOT NULL,
+    ip         VARCHAR(45)  NOT NULL,
+    timestamp  TIMESTAMP    NOT NULL,
+    claimed_on TIMESTAMP,
+    sent_on    TIMESTAMP,
+    failed_on  TIMESTAMP
+    );
+
 -- users;
 CREATE INDEX IF NOT EXISTS idx_users_email ON users (email);
 
@@ -96,8 +145,21 @@ CREATE INDEX IF NOT EXISTS idx_events_category ON events (category_id);
 CREATE INDEX IF NOT EXISTS idx_events_initiator ON events (initiator_id);
 CREATE INDEX IF NOT EXISTS idx_events_state ON events (state);
 CREATE INDEX IF NOT EXISTS idx_events_event_date ON events (event_date);
+CREATE INDEX IF NOT EXISTS idx_events_event_date_id ON events (event_date, id);
 CREATE INDEX IF NOT EXISTS idx_events_published ON events (published_on);
 
+-- public_events;
+CREATE INDEX IF NOT EXISTS idx_public_events_date ON public_events (event_date, id);
+CREATE INDEX IF NOT EXISTS idx_public_events_available_date ON public_events (event_date, id) WHERE available;
+CREATE INDEX IF NOT EXISTS idx_public_events_category_date ON public_events (category_id, event_date);
+CREATE INDEX IF NOT EXISTS idx_public_events_available_category_date ON public_events (category_id, event_date)
+    WHERE available;
+CREATE INDEX IF NOT EXISTS idx_public_events_paid_date ON public_events (paid, event_date);
+CREATE INDEX IF NOT EXISTS idx_public_events_views ON public_events (views DESC, id);
+CREATE INDEX IF NOT EXISTS idx_public_events_available_views ON public_events (views DESC, id) WHERE available;
+CREATE INDEX IF NOT EXISTS idx_public_events_search ON public_events USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_public_events_location ON public_events USING GIST (point(lon, lat));
+
 -- requests;
 CREATE INDEX IF NOT EXISTS idx_requests_event ON requests (event_id);
 CREATE INDEX IF NOT EXISTS idx_requests_requester ON requests (requester_id);
@@ -116,4 +178,8 @@ CREATE INDEX IF NOT EXISTS idx_comments_user ON comments (user_id);
 CREATE INDEX IF NOT EXISTS idx_comments_event ON comments (event_id);
 CREATE INDEX IF NOT EXISTS idx_comments_parent ON comments (parent_comment_id);
 CREATE INDEX IF NOT EXISTS idx_comments_created ON comments (created_at);
-CREATE INDEX IF NOT EXISTS idx_comments_event_created ON comments (event_id, created_at);
\ No newline at end of file
+CREATE INDEX IF NOT EXISTS idx_comments_event_created ON comments (event_id, created_at);
+
+-- stats_outbox;
+CREATE INDEX IF NOT EXISTS idx_stats_outbox_pending ON stats_outbox (id) WHERE sent_on IS NULL AND failed_on IS NULL;
+CREATE INDEX IF NOT EXISTS idx_stats_outbox_sent ON stats_outbox (sent_on) WHERE sent_on IS NOT NULL;
@@ -0,0 +1,102 @@
+package ru.practicum.events;
+
+import jakarta.validation.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventCursorTest {
+    private static final EventSortKey EVENT = new EventSortKey() {
+        @Override
+        public Long getId() {
+            return 42L;
+        }
+
+        @Override
+        public LocalDateTime getEventDate() {
+            return LocalDateTime.of(2030, 5, 17, 19, 30, 15);
+        }
+
+        @Override
+        public Long getViews() {
+            return 1500L;
+        }
+    };
+
+    @Test
+    void eventDateCursorSurvivesEncodeAndParse() {
+        EventCursor cursor = EventCursor.after(EventSortType.EVENT_DATE, EVENT);
+
+        EventCursor parsed = EventCursor.parse(cursor.encode(), EventSortType.EVENT_DATE);
+
+        assertEquals(new EventCursor(EventSortType.EVENT_DATE, EVENT.getEventDate(), null, 42L), parsed);
+    }
+
+    @Test
+    void viewsCursorSurvivesEncodeAndParse() {
+        EventCursor cursor = EventCursor.after(EventSortType.VIEWS, EVENT);
+
+        EventCursor parsed = EventCursor.parse(cursor.encode(), EventSortType.VIEWS);
+
+        assertEquals(new EventCursor(EventSortType.VIEWS, null, 1500L, 42L), parsed);
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = EventCursor.after(EventSortType.EVENT_DATE, EVENT).encode();
+
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"), encoded);
+    }
+
+    @Test
+    void cursorWithoutSortKeepsTheSortItWasIssuedFor() {
+        String encoded = EventCursor.after(EventSortType.VIEWS, EVENT).encode();
+
+        assertEquals(EventSortType.VIEWS, EventCursor.parse(encoded, null).getSort());
+    }
+
+    @Test
+    void blankCursorStartsTheFirstPage() {
+        EventCursor cursor = EventCursor.parse("", null);
+
+        assertTrue(cursor.isFirst());
+        assertEquals(EventSortType.EVENT_DATE, cursor.getSort());
+        assertEquals(EventSortType.VIEWS, EventCursor.parse(" ", EventSortType.VIEWS).getSort());
+    }
+
+    @Test
+    void missingCursorMeansOffsetPagination() {
+        assertNull(EventCursor.parse(null, EventSortType.VIEWS));
+    }
+
+    @Test
+    void cursorIssuedForAnotherSortIsRejected() {
+        String encoded = EventCursor.after(EventSortType.EVENT_DATE, EVENT).encode();
+
+        assertThrows(ValidationException.class, () -> EventCursor.parse(encoded, EventSortType.VIEWS));
+    }
+
+    @Test
+    void distanceSortHasNoCursor() {
+        assertThrows(ValidationException.class, () -> EventCursor.parse("", EventSortType.DISTANCE));
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        for (String cursor : new String[]{"not base64!", encode("EVENT_DATE"), encode("UNKNOWN|1|2"),
+                encode("VIEWS|many|2"), encode("EVENT_DATE|tomorrow|2"), encode("EVENT_DATE|2030-05-17T19:30|x")}) {
+            assertThrows(ValidationException.class, () -> EventCursor.parse(cursor, null), cursor);
+        }
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
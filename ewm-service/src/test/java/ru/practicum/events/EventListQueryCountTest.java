@@ -0,0 +1,131 @@
+package ru.practicum.events;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.categories.Category;
+import ru.practicum.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:public-events-h2.sql",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@Import({EventMapperImpl.class, PublicEventReadRepository.class})
+class EventListQueryCountTest {
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    PublicEventReadRepository publicEventReadRepository;
+
+    @Autowired
+    EventMapper eventMapper;
+
+    User initiator;
+    List<Long> eventIds;
+    Statistics statistics;
+
+    // Every event gets its own category, so a lazy load per row would show up as extra statements
+    @BeforeEach
+    void setUp() {
+        initiator = entityManager.persist(User.builder().name("Initiator").email("initiator@mail.ru").build());
+        eventIds = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Category category = entityManager.persist(Category.builder().name("Category " + i).build());
+            Event event = entityManager.persist(Event.builder()
+                    .annotation("Annotation " + i)
+                    .description("Description " + i)
+                    .title("Title " + i)
+                    .category(category)
+                    .initiator(initiator)
+                    .eventDate(LocalDateTime.now().plusDays(i + 1))
+                    .createdOn(LocalDateTime.now())
+                    .state(EventState.PUBLISHED)
+                    .build());
+            jdbcTemplate.update("INSERT INTO public_events (id, annotation, title, category_id, category_name, "
+                            + "initiator_id, initiator_name, paid, event_date, confirmed_requests, views) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?, FALSE, ?, 0, 0)",
+                    event.getId(), event.getAnnotation(), event.getTitle(), category.getId(), category.getName(),
+                    initiator.getId(), initiator.getName(), event.getEventDate());
+            eventIds.add(event.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void adminListLoadsCategoryAndInitiatorInOneStatement() {
+        List<EventShortDto> events = eventRepository.findByAdminFilters(null, List.of(EventState.PUBLISHED), null,
+                        null, null, null, PageRequest.of(0, PAGE_SIZE)).stream()
+                .map(event -> eventMapper.toShortDto(event, 0L))
+                .toList();
+
+        assertEquals(PAGE_SIZE, events.size());
+        assertMapped(events);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void initiatorListLoadsCategoryAndInitiatorInOneStatement() {
+        List<EventShortDto> events = eventRepository.findByInitiatorId(initiator.getId(), PageRequest.of(0, PAGE_SIZE))
+                .stream()
+                .map(event -> eventMapper.toShortDto(event, 0L))
+                .toList();
+
+        assertEquals(PAGE_SIZE, events.size());
+        assertMapped(events);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    // Public lists read the public_events projection over JDBC, so Hibernate must not load any entity for them
+    @Test
+    void publicListDoesNotLoadEntities() {
+        List<EventShortDto> events = publicEventReadRepository.findByIdIn(eventIds).stream()
+                .map(view -> eventMapper.toShortDto(view, view.getViews()))
+                .toList();
+
+        assertEquals(PAGE_SIZE, events.size());
+        assertMapped(events);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    private static void assertMapped(List<EventShortDto> events) {
+        events.forEach(event -> {
+            assertNotNull(event.getCategory().getName());
+            assertNotNull(event.getInitiator().getName());
+        });
+    }
+}
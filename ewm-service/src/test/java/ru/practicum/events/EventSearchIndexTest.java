@@ -0,0 +1,247 @@
+package ru.practicum.events;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventSearchIndexTest {
+    private static final int ALL = 100;
+    private static final LocalDateTime NOW = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    JdbcTemplate jdbcTemplate;
+    EventSearchIndex index;
+    List<EventChangedEvent> published;
+    Map<Long, Long> views;
+    Runnable duringRebuild;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        index = new EventSearchIndex(jdbcTemplate, true);
+        published = new ArrayList<>();
+        views = Map.of();
+        duringRebuild = () -> { };
+
+        // The published rows are fed one by one, duringRebuild runs halfway like a write landing mid-scan
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = 0; i < published.size(); i++) {
+                if (i == published.size() / 2) {
+                    duringRebuild.run();
+                }
+                handler.processRow(eventRow(published.get(i)));
+            }
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT id, title"), any(RowCallbackHandler.class));
+
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Map.Entry<Long, Long> entry : views.entrySet()) {
+                handler.processRow(viewsRow(entry.getKey(), entry.getValue()));
+            }
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT id, views"), any(RowCallbackHandler.class),
+                any(LocalDateTime.class));
+    }
+
+    @Test
+    void tokenizeSplitsOnNonAlphanumericsAndDropsRepeats() {
+        assertEquals(List.of("jazz", "night", "2025"), EventSearchIndex.tokenize("Jazz-night, JAZZ night 2025!"));
+        assertEquals(List.of("джаз", "вечер"), EventSearchIndex.tokenize("Джаз: вечер"));
+        assertEquals(List.of(), EventSearchIndex.tokenize("  "));
+    }
+
+    @Test
+    void searchIntersectsPostingsOfAllTokens() {
+        index.onEventChanged(event(1, "Jazz night", "Quartet", "Standards", 1));
+        index.onEventChanged(event(2, "Jazz brunch", "Pancakes", "Morning set", 1));
+        index.onEventChanged(event(3, "Nightlife tour", "Bars", "Live jazz in every bar", 1));
+        index.onEventChanged(event(4, "Night market", "Food", "Street stalls", 1));
+
+        assertEquals(List.of(1L, 3L), search("jazz night"));
+        assertEquals(List.of(3L), search("bar jazz nightlife"));
+        assertEquals(List.of(), search("jazz market"));
+        assertEquals(List.of(), search("opera"));
+    }
+
+    @Test
+    void searchDropsPostingsOfReplacedAndUnpublishedDocuments() {
+        index.onEventChanged(event(1, "Jazz night", "Quartet", "Standards", 1));
+        index.onEventChanged(event(2, "Jazz brunch", "Pancakes", "Morning set", 1));
+
+        index.onEventChanged(event(1, "Opera night", "Quartet", "Arias", 1));
+        index.onEventChanged(event(2, "Jazz brunch", "Pancakes", "Morning set", 1).toBuilder()
+                .state(EventState.CANCELED)
+                .build());
+
+        assertEquals(List.of(), search("jazz"));
+        assertEquals(List.of(1L), search("opera"));
+    }
+
+    @Test
+    void relevanceRanksTitleOverAnnotationOverDescriptionThenDate() {
+        index.onEventChanged(event(1, "Concert", "Jazz quartet", "Standards", 1));
+        index.onEventChanged(event(2, "Open air", "Park stage", "Jazz and blues", 2));
+        index.onEventChanged(event(3, "Jazzy brunch", "Pancakes", "Morning", 3));
+        index.onEventChanged(event(4, "Jazz night", "Jazz quartet", "Jazz standards", 4));
+        index.onEventChanged(event(5, "Night jazz", "Quartet", "Standards", 5));
+
+        assertEquals(List.of(3L, 4L, 5L, 1L, 2L), search("jazz"));
+        assertEquals(List.of(4L, 5L), search("jazz night"));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), index.search("jazz", null, null, null, null, false,
+                EventSortType.EVENT_DATE, null, 0, ALL));
+    }
+
+    @Test
+    void rebuildReplaysChangesMadeWhileTheSnapshotWasRead() {
+        published.add(event(1, "Jazz night", "Quartet", "Standards", 1));
+        published.add(event(2, "Rock festival", "Stages", "Camping", 2));
+        published.add(event(3, "Folk evening", "Songs", "Guitars", 3));
+        published.add(event(4, "Blues jam", "Open stage", "Bring an instrument", 4));
+
+        // The snapshot still returns the old rows for 3 and 4 after these commits
+        duringRebuild = () -> concurrently(
+                () -> index.onEventChanged(event(5, "Jazz brunch", "Pancakes", "Morning", 5)),
+                () -> index.onEventChanged(event(3, "Jazz evening", "Songs", "Guitars", 3)),
+                () -> index.onEventChanged(event(4, "Blues jam", "Open stage", "Bring an instrument", 4)
+                        .toBuilder()
+                        .state(EventState.CANCELED)
+                        .build()));
+
+        assertFalse(index.isReady());
+        index.rebuild();
+
+        assertTrue(index.isReady());
+        assertEquals(List.of(1L, 3L, 5L), search("jazz"));
+        assertEquals(List.of(), search("folk"));
+        assertEquals(List.of(), search("blues"));
+        assertEquals(List.of(2L), search("rock"));
+    }
+
+    @Test
+    void rebuildReplacesDocumentsThatAreNoLongerPublished() {
+        index.onEventChanged(event(1, "Jazz night", "Quartet", "Standards", 1));
+        index.onEventChanged(event(2, "Jazz brunch", "Pancakes", "Morning set", 2));
+        published.add(event(2, "Jazz brunch", "Pancakes", "Morning set", 2));
+
+        index.rebuild();
+
+        assertEquals(List.of(2L), search("jazz"));
+    }
+
+    @Test
+    void viewsOrderFollowsTheRankingWithIdAsTieBreaker() {
+        published.add(event(1, "Jazz night", "Quartet", "Standards", 1, 10L));
+        published.add(event(2, "Rock festival", "Stages", "Camping", 2, 20L));
+        published.add(event(3, "Folk evening", "Songs", "Guitars", 3, 10L));
+        published.add(event(4, "Blues jam", "Open stage", "Instruments", 4, 10L));
+        published.add(event(5, "Jazz brunch", "Pancakes", "Morning", 5, 20L));
+        views = Map.of(1L, 50L, 2L, 70L, 3L, 50L, 4L, 10L, 5L, 5L);
+
+        index.rebuild();
+
+        assertEquals(List.of(2L, 1L, 3L, 4L, 5L), index.search(null, null, null, null, null, false,
+                EventSortType.VIEWS, null, 0, ALL));
+        assertEquals(List.of(1L, 3L, 4L), index.search(null, List.of(10L), null, null, null, false,
+                EventSortType.VIEWS, null, 0, ALL));
+        assertEquals(List.of(1L, 5L), index.search("jazz", null, null, null, null, false,
+                EventSortType.VIEWS, null, 0, ALL));
+        assertEquals(List.of(3L, 4L), index.search(null, null, null, null, null, false,
+                EventSortType.VIEWS, null, 2, 2));
+    }
+
+    @Test
+    void viewsCursorSeeksPastTheLastEventOfThePreviousPage() {
+        published.add(event(1, "Jazz night", "Quartet", "Standards", 1));
+        published.add(event(2, "Rock festival", "Stages", "Camping", 2));
+        published.add(event(3, "Folk evening", "Songs", "Guitars", 3));
+        published.add(event(4, "Blues jam", "Open stage", "Instruments", 4));
+        views = Map.of(1L, 50L, 2L, 70L, 3L, 50L, 4L, 10L);
+        index.rebuild();
+
+        EventCursor afterFirst = new EventCursor(EventSortType.VIEWS, null, 50L, 1L);
+
+        assertEquals(List.of(3L, 4L), index.search(null, null, null, null, null, false,
+                EventSortType.VIEWS, afterFirst, 0, ALL));
+    }
+
+    private List<Long> search(String text) {
+        return index.search(text, null, null, null, null, false, null, null, 0, ALL);
+    }
+
+    private static EventChangedEvent event(long id, String title, String annotation, String description,
+                                           int daysAhead) {
+        return event(id, title, annotation, description, daysAhead, 10L);
+    }
+
+    private static EventChangedEvent event(long id, String title, String annotation, String description,
+                                           int daysAhead, long categoryId) {
+        return EventChangedEvent.builder()
+                .id(id)
+                .state(EventState.PUBLISHED)
+                .title(title)
+                .annotation(annotation)
+                .description(description)
+                .categoryId(categoryId)
+                .paid(false)
+                .eventDate(NOW.plusDays(daysAhead))
+                .participantLimit(0)
+                .confirmedRequests(0)
+                .build();
+    }
+
+    private static void concurrently(Runnable... writes) {
+        List<Thread> threads = new ArrayList<>();
+        for (Runnable write : writes) {
+            threads.add(Thread.startVirtualThread(write));
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ResultSet eventRow(EventChangedEvent event) throws SQLException {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong("id")).thenReturn(event.getId());
+        when(row.getString("title")).thenReturn(event.getTitle());
+        when(row.getString("annotation")).thenReturn(event.getAnnotation());
+        when(row.getString("description")).thenReturn(event.getDescription());
+        when(row.getLong("category_id")).thenReturn(event.getCategoryId());
+        when(row.getBoolean("paid")).thenReturn(event.getPaid());
+        when(row.getTimestamp("event_date")).thenReturn(Timestamp.valueOf(event.getEventDate()));
+        when(row.getInt("participant_limit")).thenReturn(event.getParticipantLimit());
+        when(row.getInt("confirmed_requests")).thenReturn(event.getConfirmedRequests());
+        return row;
+    }
+
+    private static ResultSet viewsRow(long id, long views) throws SQLException {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong("id")).thenReturn(id);
+        when(row.getLong("views")).thenReturn(views);
+        return row;
+    }
+}
@@ -0,0 +1,161 @@
+package ru.practicum.events;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.EmbeddedPostgresTest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// PublicService serves a query from the index or from SQL depending on the index state,
+// so the same query has to produce the same page either way
+@Import({PublicEventReadRepository.class, PublicEventProjector.class})
+class PublicEventSearchPathsTest extends EmbeddedPostgresTest {
+    private static final int ALL = 100;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PublicEventReadRepository publicEventReadRepository;
+
+    @Autowired
+    PublicEventProjector publicEventProjector;
+
+    EventSearchIndex eventSearchIndex;
+    long music;
+    long food;
+    long jazzNight;
+    long lateSession;
+    long openAir;
+    long nightMarket;
+    long jazzyBrunch;
+    long rockFestival;
+
+    @BeforeEach
+    void setUp() {
+        long initiator = jdbcTemplate.queryForObject(
+                "INSERT INTO users (name, email) VALUES ('Initiator', 'initiator@mail.ru') RETURNING id", Long.class);
+        music = jdbcTemplate.queryForObject(
+                "INSERT INTO categories (name) VALUES ('Music') RETURNING id", Long.class);
+        food = jdbcTemplate.queryForObject(
+                "INSERT INTO categories (name) VALUES ('Food') RETURNING id", Long.class);
+
+        jazzNight = insert(initiator, music, "Jazz night", "Standards and improvisation", "Quartet on stage",
+                3, false, 0, 0, 40);
+        lateSession = insert(initiator, music, "Evening concert", "Late jazz session", "Bring friends",
+                1, true, 10, 10, 40);
+        // Repeats don't add to the score, a description-only match stays below a single annotation match
+        openAir = insert(initiator, music, "Open air", "Concert in the park",
+                "Jazz standards, jazz ballads, jazz trios and jazz big bands", 2, false, 0, 0, 7);
+        nightMarket = insert(initiator, food, "Night market", "Street food stalls", "A jazz band plays till late",
+                4, true, 50, 10, 90);
+        // A token scores its best field only, so this ties with jazzNight and the earlier date wins
+        jazzyBrunch = insert(initiator, food, "Jazzy brunch", "Pancakes, coffee and jazz", "Sunday morning jazz",
+                5, true, 0, 0, 15);
+        rockFestival = insert(initiator, music, "Rock festival", "Three stages", "Camping included",
+                6, false, 0, 0, 120);
+
+        publicEventProjector.rebuild();
+        // Built by hand, as a bean its scheduled rebuild could replace this one with a snapshot taken outside the test
+        eventSearchIndex = new EventSearchIndex(jdbcTemplate, true);
+        eventSearchIndex.rebuild();
+    }
+
+    @Test
+    void relevanceUsesTheSameWeightsOnBothPaths() {
+        assertSamePage(List.of(jazzNight, jazzyBrunch, lateSession, openAir, nightMarket),
+                "jazz", null, null, false, null);
+    }
+
+    @Test
+    void relevanceSumsTokenScoresOnBothPaths() {
+        assertSamePage(List.of(jazzNight, nightMarket), "jazz night", null, null, false, null);
+    }
+
+    @Test
+    void textMatchesIgnoreRelevanceWhenSortedByDate() {
+        assertSamePage(List.of(lateSession, openAir, jazzNight, nightMarket, jazzyBrunch),
+                "jazz", null, null, false, EventSortType.EVENT_DATE);
+    }
+
+    @Test
+    void viewsOrderIsTheSameOnBothPaths() {
+        assertSamePage(List.of(rockFestival, nightMarket, jazzNight, lateSession, jazzyBrunch, openAir),
+                null, null, null, false, EventSortType.VIEWS);
+    }
+
+    @Test
+    void filtersAreTheSameOnBothPaths() {
+        assertSamePage(List.of(nightMarket, jazzyBrunch), null, List.of(food), true, false, null);
+        assertSamePage(List.of(openAir, jazzNight, nightMarket, jazzyBrunch, rockFestival),
+                null, null, null, true, EventSortType.EVENT_DATE);
+        assertSamePage(List.of(jazzNight, openAir), "jazz", List.of(music), false, true, null);
+    }
+
+    @Test
+    void cursorFromOnePathContinuesOnTheOther() {
+        for (EventSortType sort : List.of(EventSortType.EVENT_DATE, EventSortType.VIEWS)) {
+            List<Long> expected = eventSearchIndex.search(null, null, null, null, null, false, sort, null, 0, ALL);
+
+            List<Long> indexThenSql = new ArrayList<>();
+            List<Long> sqlThenIndex = new ArrayList<>();
+            EventCursor fromIndex = EventCursor.parse("", sort);
+            EventCursor fromSql = EventCursor.parse("", sort);
+            for (int page = 0; page < 3; page++) {
+                boolean indexTurn = page % 2 == 0;
+                fromIndex = nextPage(indexTurn, sort, fromIndex, indexThenSql);
+                fromSql = nextPage(!indexTurn, sort, fromSql, sqlThenIndex);
+            }
+
+            assertEquals(expected, indexThenSql, sort.name());
+            assertEquals(expected, sqlThenIndex, sort.name());
+        }
+    }
+
+    private EventCursor nextPage(boolean useIndex, EventSortType sort, EventCursor cursor, List<Long> collected) {
+        List<Long> ids = useIndex
+                ? eventSearchIndex.search(null, null, null, null, null, false, sort, cursor, 0, 2)
+                : ids(publicEventReadRepository.findByPublicFilters(
+                        null, null, null, null, null, false, null, sort, cursor, 0, 2));
+        collected.addAll(ids);
+
+        EventShortView last = publicEventReadRepository.findById(ids.getLast()).orElseThrow();
+        return EventCursor.parse(EventCursor.after(sort, last).encode(), sort);
+    }
+
+    private void assertSamePage(List<Long> expected, String text, List<Long> categories, Boolean paid,
+                                boolean onlyAvailable, EventSortType sort) {
+        assertTrue(eventSearchIndex.isReady());
+
+        List<Long> fromIndex = eventSearchIndex.search(
+                text, categories, paid, null, null, onlyAvailable, sort, null, 0, ALL);
+        List<Long> fromSql = ids(publicEventReadRepository.findByPublicFilters(
+                text, categories, paid, null, null, onlyAvailable, null, sort, null, 0, ALL));
+
+        assertEquals(expected, fromIndex, "index");
+        assertEquals(expected, fromSql, "sql");
+    }
+
+    private long insert(long initiator, long category, String title, String annotation, String description,
+                        int daysAhead, boolean paid, int participantLimit, int confirmedRequests, long views) {
+        return jdbcTemplate.queryForObject("INSERT INTO events (annotation, category_id, description, event_date, "
+                        + "paid, participant_limit, title, initiator_id, published_on, state, confirmed_requests, views) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, now(), 'PUBLISHED', ?, ?) RETURNING id", Long.class,
+                annotation, category, description,
+                LocalDateTime.now().plusDays(daysAhead).truncatedTo(ChronoUnit.SECONDS),
+                paid, participantLimit, title, initiator, confirmedRequests, views);
+    }
+
+    private static List<Long> ids(List<EventShortView> events) {
+        return events.stream().map(EventShortView::getId).toList();
+    }
+}
@@ -0,0 +1,193 @@
+package ru.practicum.outbox;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import ru.practicum.EmbeddedPostgresTest;
+import ru.practicum.clints.StatsClient;
+import ru.practicum.hit.NewHitRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// The relay commits each step in its own transaction, so the test must not wrap it in one
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HitOutboxRelayTest extends EmbeddedPostgresTest {
+
+    @Autowired
+    HitOutboxRepository hitOutboxRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    StatsClient statsClient;
+    HitOutboxRelay hitOutboxRelay;
+
+    // Built by hand rather than imported, a bean would also be run by the scheduler while a test is claiming rows
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM stats_outbox");
+        statsClient = mock(StatsClient.class);
+        hitOutboxRelay = new HitOutboxRelay(hitOutboxRepository, statsClient,
+                new TransactionTemplate(transactionManager), 500, 24, 60000);
+    }
+
+    @Test
+    void relaySendsPendingHitsAndMarksThemSent() {
+        long first = insert("/events/1", null, null, null);
+        long second = insert("/events/2", null, null, null);
+        insert("/events/3", null, LocalDateTime.now().minusMinutes(5), null);
+        insert("/events/4", null, null, LocalDateTime.now().minusMinutes(5));
+
+        hitOutboxRelay.relay();
+
+        assertEquals(List.of("/events/1", "/events/2"), sentUris());
+        for (long id : List.of(first, second)) {
+            HitOutbox hit = hitOutboxRepository.findById(id).orElseThrow();
+            assertNotNull(hit.getClaimedOn());
+            assertNotNull(hit.getSentOn());
+            assertNull(hit.getFailedOn());
+        }
+
+        reset(statsClient);
+        hitOutboxRelay.relay();
+
+        verify(statsClient, never()).sendHits(anyList());
+    }
+
+    @Test
+    void rejectedBatchIsMarkedFailedAndNotRetried() {
+        long id = insert("/events/1", null, null, null);
+        doThrow(WebClientResponseException.create(HttpStatus.BAD_REQUEST.value(), "Bad Request", null, null, null))
+                .when(statsClient).sendHits(anyList());
+
+        hitOutboxRelay.relay();
+
+        HitOutbox hit = hitOutboxRepository.findById(id).orElseThrow();
+        assertNotNull(hit.getFailedOn());
+        assertNull(hit.getSentOn());
+
+        hitOutboxRelay.relay();
+
+        verify(statsClient, times(1)).sendHits(anyList());
+    }
+
+    @Test
+    void unavailableStatsServiceReleasesTheClaimForTheNextRun() {
+        long id = insert("/events/1", null, null, null);
+        doThrow(WebClientResponseException.create(HttpStatus.SERVICE_UNAVAILABLE.value(), "Service Unavailable",
+                null, null, null))
+                .when(statsClient).sendHits(anyList());
+
+        hitOutboxRelay.relay();
+
+        HitOutbox released = hitOutboxRepository.findById(id).orElseThrow();
+        assertNull(released.getClaimedOn());
+        assertNull(released.getSentOn());
+        assertNull(released.getFailedOn());
+
+        reset(statsClient);
+        hitOutboxRelay.relay();
+
+        assertEquals(List.of("/events/1"), sentUris());
+        assertNotNull(hitOutboxRepository.findById(id).orElseThrow().getSentOn());
+    }
+
+    @Test
+    void liveClaimIsSkippedUntilItExpires() {
+        insert("/events/1", LocalDateTime.now(), null, null);
+        insert("/events/2", LocalDateTime.now().minusMinutes(5), null, null);
+
+        hitOutboxRelay.relay();
+
+        assertEquals(List.of("/events/2"), sentUris());
+    }
+
+    @Test
+    void lockSkipsRowsAnotherRelayIsClaiming() throws Exception {
+        insert("/events/1", null, null, null);
+        insert("/events/2", null, null, null);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        CompletableFuture<Integer> other = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+            int claimed = hitOutboxRepository.lockUnsent(1, LocalDateTime.now()).size();
+            locked.countDown();
+            await(done);
+            return claimed;
+        }));
+        try {
+            assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+            List<HitOutbox> claimed = transaction.execute(status ->
+                    hitOutboxRepository.lockUnsent(10, LocalDateTime.now()));
+
+            assertEquals(List.of("/events/2"), claimed.stream().map(HitOutbox::getUri).toList());
+        } finally {
+            done.countDown();
+        }
+        assertEquals(1, other.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void cleanupDeletesOnlyHitsSentBeforeTheRetention() {
+        insert("/events/1", null, LocalDateTime.now().minusDays(2), null);
+        long recent = insert("/events/2", null, LocalDateTime.now().minusHours(1), null);
+        long pending = insert("/events/3", null, null, null);
+
+        hitOutboxRelay.cleanup();
+
+        assertEquals(List.of(recent, pending), jdbcTemplate.queryForList(
+                "SELECT id FROM stats_outbox ORDER BY id", Long.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> sentUris() {
+        ArgumentCaptor<List<NewHitRequest>> hits = ArgumentCaptor.forClass(List.class);
+        verify(statsClient).sendHits(hits.capture());
+        return hits.getValue().stream().map(NewHitRequest::getUri).toList();
+    }
+
+    private long insert(String uri, LocalDateTime claimedOn, LocalDateTime sentOn, LocalDateTime failedOn) {
+        return jdbcTemplate.queryForObject("INSERT INTO stats_outbox (app, uri, ip, timestamp, claimed_on, sent_on, "
+                        + "failed_on) VALUES ('ewm-main-service', ?, '192.168.0.1', now(), ?, ?, ?) RETURNING id",
+                Long.class, uri, claimedOn, sentOn, failedOn);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+CREATE TABLE IF NOT EXISTS public_events
+(
+    id                 BIGINT PRIMARY KEY,
+    annotation         VARCHAR(2000) NOT NULL,
+    title              VARCHAR(120)  NOT NULL,
+    category_id        BIGINT        NOT NULL,
+    category_name      VARCHAR(250)  NOT NULL,
+    initiator_id       BIGINT        NOT NULL,
+    initiator_name     VARCHAR(250)  NOT NULL,
+    paid               BOOLEAN       NOT NULL,
+    event_date         TIMESTAMP     NOT NULL,
+    confirmed_requests INTEGER       NOT NULL,
+    views              BIGINT        NOT NULL DEFAULT 0,
+    updated_on         TIMESTAMP
+);
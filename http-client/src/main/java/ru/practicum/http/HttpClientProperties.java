@@ -0,0 +1,63 @@
+package ru.practicum.http;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties("http-client")
+public class HttpClientProperties {
+    private Pool defaults = Pool.defaults();
+    private Map<String, Pool> pools = new HashMap<>();
+
+    public Pool pool(String name) {
+        Pool pool = pools.get(name);
+        return pool != null ? pool.withDefaults(defaults) : defaults;
+    }
+
+    @Data
+    public static class Pool {
+        private Integer maxConnections;
+        private Integer pendingAcquireMaxCount;
+        private Duration pendingAcquireTimeout;
+        private Duration maxIdleTime;
+        private Duration maxLifeTime;
+        private Duration evictInBackground;
+        private Duration connectTimeout;
+        private Duration responseTimeout;
+        private Boolean http2;
+
+        private static Pool defaults() {
+            Pool pool = new Pool();
+            pool.maxConnections = 50;
+            pool.pendingAcquireMaxCount = 200;
+            pool.pendingAcquireTimeout = Duration.ofSeconds(2);
+            pool.maxIdleTime = Duration.ofSeconds(30);
+            pool.maxLifeTime = Duration.ofMinutes(5);
+            pool.evictInBackground = Duration.ofSeconds(30);
+            pool.connectTimeout = Duration.ofSeconds(1);
+            pool.responseTimeout = Duration.ofSeconds(5);
+            pool.http2 = false;
+            return pool;
+        }
+
+        private Pool withDefaults(Pool defaults) {
+            Pool pool = new Pool();
+            pool.maxConnections = maxConnections != null ? maxConnections : defaults.maxConnections;
+            pool.pendingAcquireMaxCount = pendingAcquireMaxCount != null
+                    ? pendingAcquireMaxCount : defaults.pendingAcquireMaxCount;
+            pool.pendingAcquireTimeout = pendingAcquireTimeout != null
+                    ? pendingAcquireTimeout : defaults.pendingAcquireTimeout;
+            pool.maxIdleTime = maxIdleTime != null ? maxIdleTime : defaults.maxIdleTime;
+            pool.maxLifeTime = maxLifeTime != null ? maxLifeTime : defaults.maxLifeTime;
+            pool.evictInBackground = evictInBackground != null ? evictInBackground : defaults.evictInBackground;
+            pool.connectTimeout = connectTimeout != null ? connectTimeout : defaults.connectTimeout;
+            pool.responseTimeout = responseTimeout != null ? responseTimeout : defaults.responseTimeout;
+            pool.http2 = http2 != null ? http2 : defaults.http2;
+            return pool;
+        }
+    }
+}
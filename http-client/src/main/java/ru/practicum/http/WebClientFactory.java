@@ -0,0 +1,73 @@
+package ru.practicum.http;
+
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class WebClientFactory {
+    private final HttpClientProperties properties;
+    private final WebClient.Builder webClientBuilder;
+    private final Map<String, HttpClient> clients = new ConcurrentHashMap<>();
+    private final Map<String, ConnectionProvider> providers = new ConcurrentHashMap<>();
+
+    public WebClientFactory(HttpClientProperties properties, WebClient.Builder webClientBuilder) {
+        this.properties = properties;
+        this.webClientBuilder = webClientBuilder;
+    }
+
+    public WebClient create(String downstream, String baseUrl) {
+        return webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(clients.computeIfAbsent(downstream, this::httpClient)))
+                .baseUrl(baseUrl)
+                .build();
+    }
+
+    private HttpClient httpClient(String downstream) {
+        HttpClientProperties.Pool pool = properties.pool(downstream);
+
+        ConnectionProvider provider = ConnectionProvider.builder(downstream)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictInBackground())
+                .lifo()
+                .metrics(true)
+                .build();
+        providers.put(downstream, provider);
+
+        HttpProtocol[] protocols = Boolean.TRUE.equals(pool.getHttp2())
+                ? new HttpProtocol[]{HttpProtocol.H2C, HttpProtocol.HTTP11}
+                : new HttpProtocol[]{HttpProtocol.HTTP11};
+
+        log.info("Created connection pool {}: maxConnections={}, http2={}",
+                downstream, pool.getMaxConnections(), pool.getHttp2());
+
+        return HttpClient.create(provider)
+                .protocol(protocols)
+                .keepAlive(true)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) pool.getConnectTimeout().toMillis())
+                .responseTimeout(pool.getResponseTimeout())
+                .metrics(true, uri -> downstream);
+    }
+
+    @PreDestroy
+    public void dispose() {
+        providers.values().forEach(provider -> provider.disposeLater().block());
+    }
+}
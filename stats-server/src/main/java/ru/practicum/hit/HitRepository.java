@@ -1,8 +1,10 @@
 package ru.practicum.hit;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -44,4 +46,42 @@ public interface HitRepository extends JpaRepository<Hit, Long> {
     List<Object[]> findUniqueStatsWithUris(@Param("start") LocalDateTime start,
                                            @Param("end") LocalDateTime end,
                                            @Param("uris") List<String> uris);
+
+    @Query(value = "SELECT MIN(id) FROM hits", nativeQuery = true)
+    Long findMinId();
+
+    // Timestamps are client-supplied and don't follow id order, so the bound has to cover every matching row
+    @Query(value = "SELECT MAX(id) FROM hits WHERE timestamp < :cutoff", nativeQuery = true)
+    Long findMaxIdBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM hits " +
+            "WHERE id >= :fromId AND id < :toId " +
+            "AND timestamp < :cutoff", nativeQuery = true)
+    int deleteChunk(@Param("fromId") long fromId,
+                    @Param("toId") long toId,
+                    @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM hits " +
+            "WHERE id >= :fromId AND id < :toId " +
+            "AND app = :app " +
+            "AND timestamp < :cutoff", nativeQuery = true)
+    int deleteChunkForApp(@Param("fromId") long fromId,
+                          @Param("toId") long toId,
+                          @Param("app") String app,
+                          @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM hits " +
+            "WHERE id >= :fromId AND id < :toId " +
+            "AND app NOT IN :apps " +
+            "AND timestamp < :cutoff", nativeQuery = true)
+    int deleteChunkExcludingApps(@Param("fromId") long fromId,
+                                 @Param("toId") long toId,
+                                 @Param("apps") List<String> apps,
+                                 @Param("cutoff") LocalDateTime cutoff);
 }
\ No newline at end of file
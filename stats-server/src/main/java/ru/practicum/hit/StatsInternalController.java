@@ -30,6 +30,13 @@ public class StatsInternalController {
         statsService.addHit(request);
     }
 
+    @PostMapping("/hits")
+    @ResponseStatus(HttpStatus.CREATED)
+    public void addHits(@RequestBody List<@Valid NewHitRequest> requests) {
+        log.info("Received {} hits", requests.size());
+        statsService.addHits(requests);
+    }
+
     @GetMapping("/stats")
     public ResponseEntity<?> stats(
             @RequestParam @NotNull @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime start,
@@ -29,6 +29,21 @@ public class StatsService {
         log.info("Hit saved successfully with id: {}", savedHit.getId());
     }
 
+    public void addHits(List<NewHitRequest> requests) {
+        log.info("Adding {} hits to stats service", requests.size());
+        List<Hit> hits = requests.stream()
+                .map(request -> Hit.builder()
+                        .app(request.getApp())
+                        .uri(request.getUri())
+                        .ip(request.getIp())
+                        .timestamp(request.getTimestamp())
+                        .build())
+                .collect(Collectors.toList());
+
+        hitRepository.saveAll(hits);
+        log.info("{} hits saved successfully", hits.size());
+    }
+
     @Transactional(readOnly = true)
     public List<ViewStatsDto> getStats(LocalDateTime start,
                                        LocalDateTime end,
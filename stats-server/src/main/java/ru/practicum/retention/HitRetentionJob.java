@@ -0,0 +1,157 @@
+package ru.practicum.retention;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.hit.HitRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@EnableConfigurationProperties(HitRetentionProperties.class)
+public class HitRetentionJob {
+    private static final String DEFAULT_RULE = "default";
+
+    private final HitRepository hitRepository;
+    private final HitRetentionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Timer runTimer;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicLong firstId = new AtomicLong();
+    private final AtomicLong currentId = new AtomicLong();
+    private final AtomicLong lastId = new AtomicLong();
+    private final AtomicLong deletedInRun = new AtomicLong();
+
+    public HitRetentionJob(HitRepository hitRepository,
+                           HitRetentionProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.hitRepository = hitRepository;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.runTimer = meterRegistry.timer("stats.retention.run");
+
+        meterRegistry.gauge("stats.retention.progress", this, HitRetentionJob::progress);
+        meterRegistry.gauge("stats.retention.deleted.current.run", deletedInRun);
+    }
+
+    @Scheduled(cron = "${stats.retention.cron:0 30 3 * * *}")
+    public void purge() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (properties.getMaxAge() == null && properties.getApps().isEmpty()) {
+            log.warn("Hits retention is enabled but no rules are configured");
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Previous hits retention run is still in progress, skipping");
+            return;
+        }
+
+        try {
+            runTimer.record(this::purgeInChunks);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void purgeInChunks() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime defaultCutoff = properties.getMaxAge() == null ? null : now.minus(properties.getMaxAge());
+        Map<String, LocalDateTime> appCutoffs = new HashMap<>();
+        properties.getApps().forEach((app, maxAge) -> appCutoffs.put(app, now.minus(maxAge)));
+
+        LocalDateTime latestCutoff = latestCutoff(defaultCutoff, appCutoffs);
+        Long fromId = hitRepository.findMinId();
+        Long toId = hitRepository.findMaxIdBefore(latestCutoff);
+
+        if (fromId == null || toId == null || toId < fromId) {
+            log.info("Hits retention: nothing to purge before {}", latestCutoff);
+            return;
+        }
+
+        int chunkSize = properties.getChunkSize();
+        long pauseMillis = properties.getPauseBetweenChunks().toMillis();
+        ArrayList<String> ruleApps = new ArrayList<>(appCutoffs.keySet());
+
+        log.info("Hits retention started: ids {} - {}, chunk size {}, default cutoff {}, app cutoffs {}",
+                fromId, toId, chunkSize, defaultCutoff, appCutoffs);
+        firstId.set(fromId);
+        currentId.set(fromId);
+        lastId.set(toId);
+        deletedInRun.set(0);
+
+        for (long chunkStart = fromId; chunkStart <= toId; chunkStart += chunkSize) {
+            long chunkEnd = Math.min(chunkStart + chunkSize, toId + 1);
+            int deleted = 0;
+
+            for (Map.Entry<String, LocalDateTime> rule : appCutoffs.entrySet()) {
+                int count = hitRepository.deleteChunkForApp(chunkStart, chunkEnd, rule.getKey(), rule.getValue());
+                meterRegistry.counter("stats.retention.deleted", "rule", rule.getKey()).increment(count);
+                deleted += count;
+            }
+
+            if (defaultCutoff != null) {
+                int count = ruleApps.isEmpty()
+                        ? hitRepository.deleteChunk(chunkStart, chunkEnd, defaultCutoff)
+                        : hitRepository.deleteChunkExcludingApps(chunkStart, chunkEnd, ruleApps, defaultCutoff);
+                meterRegistry.counter("stats.retention.deleted", "rule", DEFAULT_RULE).increment(count);
+                deleted += count;
+            }
+
+            currentId.set(chunkEnd);
+            deletedInRun.addAndGet(deleted);
+
+            if (deleted > 0) {
+                log.debug("Hits retention: deleted {} hits with ids {} - {}", deleted, chunkStart, chunkEnd);
+                if (!pause(pauseMillis)) {
+                    break;
+                }
+            }
+        }
+
+        log.info("Hits retention finished: deleted {} hits", deletedInRun.get());
+    }
+
+    private LocalDateTime latestCutoff(LocalDateTime defaultCutoff, Map<String, LocalDateTime> appCutoffs) {
+        ArrayList<LocalDateTime> cutoffs = new ArrayList<>(appCutoffs.values());
+        if (defaultCutoff != null) {
+            cutoffs.add(defaultCutoff);
+        }
+        return Collections.max(cutoffs);
+    }
+
+    private boolean pause(long pauseMillis) {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(Duration.ofMillis(pauseMillis));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Hits retention interrupted at id {}", currentId.get());
+            return false;
+        }
+    }
+
+    private double progress() {
+        long total = lastId.get() - firstId.get();
+        if (total <= 0) {
+            return running.get() ? 0 : 1;
+        }
+        return Math.min(1.0, (double) (currentId.get() - firstId.get()) / total);
+    }
+}
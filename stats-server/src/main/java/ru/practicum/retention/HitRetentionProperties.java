@@ -0,0 +1,28 @@
+package ru.practicum.retention;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats.retention")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class HitRetentionProperties {
+    boolean enabled = false;
+
+    // Applies to every app without its own rule; null keeps such hits forever
+    Duration maxAge;
+
+    Map<String, Duration> apps = new HashMap<>();
+
+    int chunkSize = 10_000;
+
+    Duration pauseBetweenChunks = Duration.ofMillis(200);
+}
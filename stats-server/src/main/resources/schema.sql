@@ -5,4 +5,7 @@ CREATE TABLE IF NOT EXISTS hits
     uri VARCHAR(512) NOT NULL,
     ip VARCHAR(45) NOT NULL,
     timestamp TIMESTAMP WITHOUT TIME ZONE NOT NULL
-    );
\ No newline at end of file
+    );
+
+CREATE INDEX IF NOT EXISTS idx_hits_timestamp ON hits (timestamp);
+CREATE INDEX IF NOT EXISTS idx_hits_uri_timestamp ON hits (uri, timestamp);
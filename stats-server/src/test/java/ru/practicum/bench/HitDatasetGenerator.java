@@ -0,0 +1,137 @@
+package ru.practicum.bench;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.SplittableRandom;
+
+@Slf4j
+@Component
+@Profile("bench")
+@RequiredArgsConstructor
+public class HitDatasetGenerator {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int BUFFER_SIZE = 4 * 1024 * 1024;
+    private static final int SECONDS_IN_HOUR = 3600;
+
+    // Relative traffic per hour of day: quiet at night, peak in the evening
+    private static final double[] HOURLY_WEIGHTS = {
+            0.30, 0.20, 0.15, 0.12, 0.12, 0.18, 0.35, 0.60, 0.85, 0.95, 1.00, 1.05,
+            1.10, 1.05, 1.00, 1.05, 1.15, 1.30, 1.50, 1.60, 1.45, 1.10, 0.75, 0.45
+    };
+
+    private final DataSource dataSource;
+
+    public LocalDateTime generate(StatsBenchmarkProperties properties, LocalDateTime end) throws SQLException {
+        SplittableRandom random = new SplittableRandom(properties.getSeed());
+        ZipfSampler uriSampler = new ZipfSampler(properties.getUris(), properties.getUriSkew());
+        ZipfSampler ipSampler = new ZipfSampler(properties.getIps(), properties.getIpSkew());
+        double[] hourly = cumulativeHourlyWeights();
+        LocalDateTime start = end.toLocalDate().minusDays(properties.getDays()).atStartOfDay();
+        List<String> apps = properties.getApps();
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                if (properties.isTruncate()) {
+                    statement.execute("TRUNCATE TABLE hits RESTART IDENTITY");
+                }
+                statement.execute("DROP INDEX IF EXISTS idx_hits_timestamp");
+            }
+
+            log.info("Generating {} hits: {} uris, {} ips, {} days ending {}",
+                    properties.getRows(), properties.getUris(), properties.getIps(), properties.getDays(), end);
+
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn("COPY hits (app, uri, ip, timestamp) FROM STDIN WITH (FORMAT csv)");
+            StringBuilder buffer = new StringBuilder(BUFFER_SIZE + 256);
+            long startedAt = System.nanoTime();
+
+            try {
+                for (long row = 0; row < properties.getRows(); row++) {
+                    String app = apps.get(random.nextInt(apps.size()));
+                    buffer.append(app).append(',')
+                            .append(uri(uriSampler.sample(random))).append(',')
+                            .append(ip(random, ipSampler, properties.getNewIpRate())).append(',')
+                            .append(FORMATTER.format(timestamp(random, hourly, start, properties.getDays())))
+                            .append('\n');
+
+                    if (buffer.length() >= BUFFER_SIZE) {
+                        flush(copyIn, buffer);
+                    }
+                    if ((row + 1) % 10_000_000 == 0) {
+                        log.info("Generated {} hits", row + 1);
+                    }
+                }
+                flush(copyIn, buffer);
+                copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+
+            log.info("Loaded {} hits in {} s, building indexes",
+                    properties.getRows(), (System.nanoTime() - startedAt) / 1_000_000_000);
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE INDEX IF NOT EXISTS idx_hits_timestamp ON hits (timestamp)");
+                statement.execute("ANALYZE hits");
+            }
+        }
+        return start;
+    }
+
+    private void flush(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    static String uri(int rank) {
+        return rank == 0 ? "/events" : "/events/" + rank;
+    }
+
+    private String ip(SplittableRandom random, ZipfSampler ipSampler, double newIpRate) {
+        int index = random.nextDouble() < newIpRate
+                ? random.nextInt(1 << 24)
+                : ipSampler.sample(random);
+        return "10." + ((index >> 16) & 0xFF) + "." + ((index >> 8) & 0xFF) + "." + (index & 0xFF);
+    }
+
+    private LocalDateTime timestamp(SplittableRandom random, double[] hourly, LocalDateTime start, int days) {
+        double point = random.nextDouble();
+        int hour = 0;
+        while (hour < hourly.length - 1 && hourly[hour] < point) {
+            hour++;
+        }
+        return start.plusDays(random.nextInt(days))
+                .plusHours(hour)
+                .plusSeconds(random.nextInt(SECONDS_IN_HOUR));
+    }
+
+    private double[] cumulativeHourlyWeights() {
+        double[] cumulative = new double[HOURLY_WEIGHTS.length];
+        double sum = 0;
+        for (int hour = 0; hour < HOURLY_WEIGHTS.length; hour++) {
+            sum += HOURLY_WEIGHTS[hour];
+            cumulative[hour] = sum;
+        }
+        for (int hour = 0; hour < cumulative.length; hour++) {
+            cumulative[hour] /= sum;
+        }
+        return cumulative;
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.bench;
+
+import org.springframework.boot.SpringApplication;
+import ru.practicum.StatsServer;
+
+// Lives with the tests so the generator, which truncates hits and drops indexes, never ships in the service jar
+public class StatsBenchmarkApplication {
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(StatsServer.class);
+        application.setAdditionalProfiles("bench");
+        application.run(args);
+    }
+}
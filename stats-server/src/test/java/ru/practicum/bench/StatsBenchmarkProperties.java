@@ -0,0 +1,39 @@
+package ru.practicum.bench;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "stats.bench")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class StatsBenchmarkProperties {
+    // Both rewrite the hits table, so a run has to ask for them explicitly
+    boolean generate = false;
+    boolean truncate = false;
+    long seed = 42;
+
+    long rows = 10_000_000;
+    int days = 90;
+    List<String> apps = List.of("ewm-main-service");
+
+    int uris = 10_000;
+    double uriSkew = 1.1;
+
+    int ips = 1_000_000;
+    double ipSkew = 0.9;
+    double newIpRate = 0.05;
+
+    List<Duration> ranges = List.of(Duration.ofHours(1), Duration.ofDays(1), Duration.ofDays(7), Duration.ofDays(30));
+    List<Integer> uriCounts = List.of(0, 1, 10, 100);
+    int warmup = 3;
+    int iterations = 20;
+
+    String report;
+}
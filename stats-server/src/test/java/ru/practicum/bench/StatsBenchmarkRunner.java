@@ -0,0 +1,52 @@
+package ru.practicum.bench;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@Slf4j
+@Component
+@Profile("bench")
+@RequiredArgsConstructor
+@EnableConfigurationProperties(StatsBenchmarkProperties.class)
+public class StatsBenchmarkRunner implements ApplicationRunner {
+    private final StatsBenchmarkProperties properties;
+    private final HitDatasetGenerator generator;
+    private final StatsQueryBenchmark benchmark;
+    private final JdbcTemplate jdbcTemplate;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        LocalDateTime end;
+        if (properties.isGenerate()) {
+            end = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+            generator.generate(properties, end);
+        } else {
+            end = jdbcTemplate.queryForObject("SELECT MAX(timestamp) FROM hits", LocalDateTime.class);
+            if (end == null) {
+                log.error("Table hits is empty, run with stats.bench.generate=true first");
+                SpringApplication.exit(context, () -> 1);
+                return;
+            }
+        }
+
+        List<StatsQueryBenchmark.Result> results = benchmark.run(properties, end);
+        if (properties.getReport() != null) {
+            benchmark.writeReport(results, Path.of(properties.getReport()));
+        }
+        SpringApplication.exit(context, () -> 0);
+    }
+}
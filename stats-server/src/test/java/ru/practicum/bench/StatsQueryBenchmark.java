@@ -0,0 +1,120 @@
+package ru.practicum.bench;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import ru.practicum.hit.StatsService;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+@Slf4j
+@Component
+@Profile("bench")
+@RequiredArgsConstructor
+public class StatsQueryBenchmark {
+    private final StatsService statsService;
+
+    public List<Result> run(StatsBenchmarkProperties properties, LocalDateTime end) {
+        SplittableRandom random = new SplittableRandom(properties.getSeed());
+        ZipfSampler uriSampler = new ZipfSampler(properties.getUris(), properties.getUriSkew());
+        List<Result> results = new ArrayList<>();
+
+        for (Duration range : properties.getRanges()) {
+            for (Integer uriCount : properties.getUriCounts()) {
+                List<String> uris = pickUris(random, uriSampler, Math.min(uriCount, properties.getUris()));
+                for (boolean unique : new boolean[]{false, true}) {
+                    Result result = measure(properties, range, end, uris, unique);
+                    log.info("range={} uris={} unique={} rows={} mean={}ms p50={}ms p90={}ms p99={}ms max={}ms",
+                            range, uriCount, unique, result.getRows(), result.getMeanMillis(),
+                            result.getP50Millis(), result.getP90Millis(), result.getP99Millis(), result.getMaxMillis());
+                    results.add(result);
+                }
+            }
+        }
+        return results;
+    }
+
+    public void writeReport(List<Result> results, Path path) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            writer.println("range,uris,unique,rows,mean_ms,p50_ms,p90_ms,p99_ms,max_ms");
+            for (Result result : results) {
+                writer.printf("%s,%d,%b,%d,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                        result.getRange(), result.getUris(), result.isUnique(), result.getRows(),
+                        result.getMeanMillis(), result.getP50Millis(), result.getP90Millis(),
+                        result.getP99Millis(), result.getMaxMillis());
+            }
+        }
+        log.info("Benchmark report written to {}", path);
+    }
+
+    private Result measure(StatsBenchmarkProperties properties,
+                           Duration range,
+                           LocalDateTime end,
+                           List<String> uris,
+                           boolean unique) {
+        LocalDateTime start = end.minus(range);
+        for (int i = 0; i < properties.getWarmup(); i++) {
+            statsService.getStats(start, end, uris, unique);
+        }
+
+        long[] timings = new long[properties.getIterations()];
+        int rows = 0;
+        for (int i = 0; i < timings.length; i++) {
+            long startedAt = System.nanoTime();
+            rows = statsService.getStats(start, end, uris, unique).size();
+            timings[i] = System.nanoTime() - startedAt;
+        }
+        Arrays.sort(timings);
+
+        return new Result(range, uris.size(), unique, rows,
+                millis((long) Arrays.stream(timings).average().orElse(0)),
+                millis(percentile(timings, 0.50)),
+                millis(percentile(timings, 0.90)),
+                millis(percentile(timings, 0.99)),
+                millis(timings[timings.length - 1]));
+    }
+
+    private List<String> pickUris(SplittableRandom random, ZipfSampler uriSampler, int count) {
+        Set<String> uris = new LinkedHashSet<>();
+        while (uris.size() < count) {
+            uris.add(HitDatasetGenerator.uri(uriSampler.sample(random)));
+        }
+        return new ArrayList<>(uris);
+    }
+
+    private long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    @Value
+    public static class Result {
+        Duration range;
+        int uris;
+        boolean unique;
+        int rows;
+        double meanMillis;
+        double p50Millis;
+        double p90Millis;
+        double p99Millis;
+        double maxMillis;
+    }
+}
@@ -0,0 +1,120 @@
+package ru.practicum.retention;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.hit.HitRepository;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class HitRetentionJobTest {
+    private static final EmbeddedPostgres POSTGRES = start();
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    HitRepository hitRepository;
+
+    HitRetentionProperties properties;
+    LocalDateTime now;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        POSTGRES.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        properties = new HitRetentionProperties();
+        properties.setEnabled(true);
+        properties.setChunkSize(2);
+        properties.setPauseBetweenChunks(Duration.ZERO);
+        now = LocalDateTime.now();
+    }
+
+    // The newest expired hit has the lowest id, so an id bound taken from it would stop before the late arrivals
+    @Test
+    void purgeDeletesExpiredHitsRecordedOutOfTimestampOrder() {
+        properties.setMaxAge(Duration.ofDays(365));
+        insert("ewm-main-service", now.minusDays(370));
+        long fresh = insert("ewm-main-service", now.minusDays(10));
+        insert("ewm-main-service", now.minusDays(500));
+        long recent = insert("ewm-main-service", now.minusDays(1));
+        insert("ewm-main-service", now.minusDays(400));
+
+        job().purge();
+
+        assertEquals(List.of(fresh, recent), remainingIds());
+    }
+
+    @Test
+    void purgeAppliesAppRulesAndDefaultToTheirOwnHits() {
+        properties.setMaxAge(Duration.ofDays(365));
+        properties.setApps(Map.of("short-lived", Duration.ofDays(30)));
+        long defaultKept = insert("ewm-main-service", now.minusDays(40));
+        insert("short-lived", now.minusDays(40));
+        long ruleKept = insert("short-lived", now.minusDays(10));
+        insert("ewm-main-service", now.minusDays(400));
+        insert("short-lived", now.minusDays(400));
+
+        job().purge();
+
+        assertEquals(List.of(defaultKept, ruleKept), remainingIds());
+    }
+
+    @Test
+    void purgeKeepsEverythingWithoutDefaultRuleForOtherApps() {
+        properties.setApps(Map.of("short-lived", Duration.ofDays(30)));
+        long other = insert("ewm-main-service", now.minusDays(400));
+        insert("short-lived", now.minusDays(400));
+
+        job().purge();
+
+        assertEquals(List.of(other), remainingIds());
+    }
+
+    private HitRetentionJob job() {
+        return new HitRetentionJob(hitRepository, properties, new SimpleMeterRegistry());
+    }
+
+    private long insert(String app, LocalDateTime timestamp) {
+        return jdbcTemplate.queryForObject("INSERT INTO hits (app, uri, ip, timestamp) "
+                + "VALUES (?, '/events', '10.0.0.1', ?) RETURNING id", Long.class, app, timestamp);
+    }
+
+    private List<Long> remainingIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM hits ORDER BY id", Long.class);
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to start embedded PostgreSQL", e);
+        }
+    }
+}